@@ -0,0 +1,77 @@
+package com.taskmanager;
+
+import com.taskmanager.model.Role;
+import com.taskmanager.model.TaskStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application without the web layer against a private in-memory H2 database and seeds it
+ * with a deterministic data set for the benchmarks.
+ */
+public final class BenchmarkContext {
+
+    public static final int TASKS_PER_USER = 100;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.taskmanager=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int taskCount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        int userCount = Math.max(1, taskCount / TASKS_PER_USER);
+
+        List<Object[]> users = new ArrayList<>(userCount);
+        for (long id = 1; id <= userCount; id++) {
+            users.add(new Object[]{id, "User " + id, "user" + id + "@example.com", (id == 1 ? Role.ADMIN : Role.USER).name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, role) VALUES (?, ?, ?, ?)", users);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= taskCount; id++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(id * 30));
+            batch.add(new Object[]{
+                    id,
+                    "Task " + id,
+                    "Generated description for task " + id + " used to give rows a realistic width. ".repeat(3),
+                    STATUSES[random.nextInt(STATUSES.length)].name(),
+                    createdAt,
+                    createdAt,
+                    1 + random.nextInt(userCount)});
+            if (batch.size() == BATCH_SIZE || id == taskCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, created_at, updated_at, assigned_to) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of {@code requests} concurrent requests against the prod-sized pool of 5 connections.
+ * Each request waits {@code ioMillis} without a connection (a downstream call or a slow client) and then
+ * holds a connection for a query plus {@code queryMillis} of database latency. {@code platform} is the
+ * default 200-thread Tomcat pool straight on Hikari; {@code virtual} is a virtual thread per request behind
+ * {@link ConnectionLimitingDataSource}. Platform threads cap throughput at 200 requests in flight, virtual
+ * threads only at the pool; any request the limiter times out fails the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConnectionLimitingBenchmark {
+
+    private static final int POOL_SIZE = 5;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"10000"})
+    private int requests;
+
+    @Param({"100"})
+    private int ioMillis;
+
+    @Param({"1"})
+    private int queryMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:limiter-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(Duration.ofMinutes(1).toMillis());
+        pool = new HikariDataSource(config);
+
+        if ("virtual".equals(mode)) {
+            dataSource = new ConnectionLimitingDataSource(pool, POOL_SIZE, Duration.ofSeconds(20));
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            dataSource = pool;
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Integer>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(this::request));
+        }
+        long total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+
+    private int request() throws Exception {
+        Thread.sleep(ioMillis);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select 1")) {
+            rs.next();
+            Thread.sleep(queryMillis);
+            return rs.getInt(1);
+        }
+    }
+}
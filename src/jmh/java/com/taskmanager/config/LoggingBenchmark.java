@@ -0,0 +1,116 @@
+package com.taskmanager.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost seen by a request thread for the lines {@code GET /tasks} writes, comparing a synchronous
+ * file appender with the non-blocking async one, plain pattern with JSON output, and full logging with
+ * request sampling. Async numbers only show what the request pays: under sustained load the bounded
+ * queue drops routine events rather than slowing requests down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"pattern", "json"})
+    private String format;
+
+    @Param({"1.0", "0.01"})
+    private double sampleRate;
+
+    private Path logFile;
+    private Logger logger;
+    private Appender<ILoggingEvent> rootAppender;
+    private LogSamplingInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.addTurboFilter(new SampledLogTurboFilter());
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+
+        Encoder<ILoggingEvent> encoder;
+        if ("json".equals(format)) {
+            encoder = new LogstashEncoder();
+        } else {
+            PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+            patternEncoder.setPattern(PATTERN);
+            encoder = patternEncoder;
+        }
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        rootAppender = fileAppender;
+
+        if ("async".equals(appender)) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            rootAppender = asyncAppender;
+        }
+
+        logger = loggerContext.getLogger("com.taskmanager.service.TaskService");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(rootAppender);
+
+        LogSamplingProperties properties = new LogSamplingProperties();
+        properties.setDefaultRate(sampleRate);
+        interceptor = new LogSamplingInterceptor(properties);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.detachAppender(rootAppender);
+        rootAppender.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void getAllTasksRequest() {
+        interceptor.preHandle(request, response, null);
+        logger.info("Fetching tasks with filters - status: {}, userId: {}, after: {}, limit: {}", "PENDING", 42L, null, 50);
+        logger.debug("Resolved {} tasks for page", 50);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.dto.TaskPageResponseDto;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.dto.UserResponseDto;
+import com.taskmanager.model.Role;
+import com.taskmanager.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a {@code GET /tasks} page in each negotiable format. The payload size of every
+ * format is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListFormatBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private TaskPageResponseDto page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // The settings Spring Boot applies to the application's mappers
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(JacksonConfig.defaultFilters())
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        List<TaskResponseDto> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            long userId = id % 100 + 1;
+            UserResponseDto user = new UserResponseDto(userId, "User " + userId, "user" + userId + "@example.com",
+                    Role.USER, 0);
+            items.add(new TaskResponseDto(id, "Task " + id, "Generated description for task " + id,
+                    statuses[(int) (id % statuses.length)], now, now, 0L, user));
+        }
+        page = new TaskPageResponseDto(items, "MjAyNi0wMS0wMVQwMDowMHwx");
+        encoded = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d tasks: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskPageResponseDto decode() throws IOException {
+        return objectMapper.readValue(encoded, TaskPageResponseDto.class);
+    }
+}
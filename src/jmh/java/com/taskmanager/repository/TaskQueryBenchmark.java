@@ -0,0 +1,60 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.BenchmarkContext;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskQueryBenchmark {
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, taskCount);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> findAllWithUsers() {
+        return taskRepository.findAllWithUsers();
+    }
+
+    @Benchmark
+    public List<Task> findWithStatusFilter() {
+        return taskRepository.findAll(TaskSpecifications.withFilters(TaskStatus.PENDING, null)
+                .and(TaskSpecifications.fetchAssignee()));
+    }
+
+    @Benchmark
+    public List<Task> findWithUserFilter() {
+        return taskRepository.findAll(TaskSpecifications.withFilters(null, 2L)
+                .and(TaskSpecifications.fetchAssignee()));
+    }
+
+    @Benchmark
+    public List<TaskRow> findFirstPage() {
+        return taskRepository.findRows(Specification.where(null), TaskSpecifications.KEYSET_ORDER, 51);
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.BenchmarkContext;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.dto.UserResponseDto;
+import com.taskmanager.model.Role;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private List<Task> tasks;
+    private List<User> users;
+    private List<TaskResponseDto> taskDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = new ArrayList<>();
+        for (long id = 1; id <= Math.max(1, size / BenchmarkContext.TASKS_PER_USER); id++) {
+            users.add(new User(id, "User " + id, "user" + id + "@example.com", Role.USER, null));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        tasks = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("Task " + id);
+            task.setDescription("Generated description for task " + id);
+            task.setStatus(statuses[(int) (id % statuses.length)]);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0L);
+            task.setAssignedTo(users.get((int) (id % users.size())));
+            tasks.add(task);
+        }
+
+        taskDtos = mapTasks();
+        objectMapper = Jackson2ObjectMapperBuilder.json().filters(JacksonConfig.defaultFilters()).build();
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> mapTasks() {
+        List<TaskResponseDto> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(TaskService.mapToResponseDto(task));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserResponseDto> mapUsers() {
+        List<UserResponseDto> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(UserService.mapToResponseDto(user));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskDtos);
+    }
+}
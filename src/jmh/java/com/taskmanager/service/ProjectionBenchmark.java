@@ -0,0 +1,68 @@
+package com.taskmanager.service;
+
+import com.taskmanager.BenchmarkContext;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A task list read of {@code taskCount} rows as {@code getAllTasks} does it, inside a read-only
+ * transaction: hydrating Task and User entities and mapping them, against selecting TaskRow projections.
+ * Run with {@code -prof gc} to compare allocation per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProjectionBenchmark {
+
+    @Param({"100000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, taskCount);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> entities() {
+        return readOnlyTransaction.execute(status -> taskRepository.findBy(TaskSpecifications.fetchAssignee(), query -> query
+                        .sortBy(TaskSpecifications.KEYSET_ORDER)
+                        .limit(taskCount)
+                        .all())
+                .stream()
+                .map(TaskService::mapToResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> projections() {
+        return readOnlyTransaction.execute(status -> taskRepository.findRows(Specification.where(null), TaskSpecifications.KEYSET_ORDER, taskCount)
+                .stream()
+                .map(TaskService::mapToResponseDto)
+                .toList());
+    }
+}
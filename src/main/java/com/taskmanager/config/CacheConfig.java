@@ -0,0 +1,51 @@
+package com.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+    public static final String TASKS_CACHE = "tasks";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${taskmanager.cache.users.spec}") String usersCacheSpec,
+            @Value("${taskmanager.cache.tasks.spec}") String tasksCacheSpec) {
+        // Stats are always recorded so hit/miss counts show up under cache.gets in /actuator/metrics
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.registerCustomCache(USERS_CACHE, Caffeine.from(usersCacheSpec).recordStats().build());
+        caffeineCacheManager.registerCustomCache(TASKS_CACHE, Caffeine.from(tasksCacheSpec).recordStats().build());
+        // Defer puts and evictions until the surrounding transaction commits
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                Gauge.builder("cache.hit.ratio", caffeineCache.getNativeCache(), nativeCache -> nativeCache.stats().hitRate())
+                        .tag("cache", name)
+                        .description("Ratio of cache lookups that returned a cached value")
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -6,24 +6,59 @@ import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.User;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @Profile("!test") // Don't run in test environment
+@EnableConfigurationProperties(SeedProperties.class)
 public class DataInitializer implements CommandLineRunner {
 
+    private static final String[] VERBS = {"Implement", "Review", "Refactor", "Test", "Document", "Deploy", "Fix", "Design"};
+    private static final String[] SUBJECTS = {"login flow", "task API", "database schema", "search index", "export job",
+            "metrics dashboard", "rate limiter", "user settings", "release notes", "CI pipeline"};
+    // allocationSize of the tasks_seq generator on Task
+    private static final int TASK_ID_ALLOCATION_SIZE = 50;
+
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final SeedProperties seedProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
 
     @Override
     public void run(String... args) throws Exception {
         if (userRepository.count() == 0) {
+            if (seedProperties.isEnabled()) {
+                seedLoadTestData();
+                return;
+            }
             log.info("Initializing sample data...");
             initializeSampleData();
             log.info("Sample data initialization completed!");
@@ -90,4 +125,125 @@ public class DataInitializer implements CommandLineRunner {
 
         log.info("Created {} users and {} tasks", userRepository.count(), taskRepository.count());
     }
+
+    /**
+     * Generates {@code users x tasksPerUser} rows in chunks of users, each chunk in its own transaction on
+     * a worker thread, written with JDBC batch inserts. Ids and creation times are derived from each row's
+     * position and every chunk draws from its own random stream derived from the seed, so the data does
+     * not depend on thread scheduling.
+     */
+    private void seedLoadTestData() throws InterruptedException {
+        int users = seedProperties.getUsers();
+        int chunkSize = seedProperties.getChunkSize();
+        int chunks = (users + chunkSize - 1) / chunkSize;
+        long taskCount = (long) users * seedProperties.getTasksPerUser();
+        int parallelism = Math.max(1, Math.min(seedProperties.getParallelism(), maximumPoolSize()));
+        TaskStatus[] statusTable = statusTable(seedProperties.getStatusWeights());
+        // Task n was created n microseconds after this, so created_at order is id order
+        LocalDateTime createdFrom = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minus(taskCount, ChronoUnit.MICROS);
+        log.info("Seeding {} users with {} tasks each in {} chunks on {} threads (seed {})", users,
+                seedProperties.getTasksPerUser(), chunks, parallelism, seedProperties.getRandomSeed());
+
+        AtomicLong rows = new AtomicLong();
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int firstUser = chunk * chunkSize;
+                int lastUser = Math.min(users, firstUser + chunkSize);
+                SplittableRandom random = new SplittableRandom(seedProperties.getRandomSeed() + chunk);
+                futures.add(executor.submit(() -> {
+                    long written = transactionTemplate.execute(
+                            status -> seedChunk(firstUser, lastUser, statusTable, random, createdFrom));
+                    long total = rows.addAndGet(written);
+                    log.debug("Seeded users {}-{} ({} rows so far)", firstUser, lastUser - 1, total);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // The ids were assigned here, so move the generators past them; tasks_seq is pooled and hands out
+        // the block of allocationSize ids ending at its next value
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (users + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (taskCount + TASK_ID_ALLOCATION_SIZE));
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Seeded {} rows in {} ms ({} rows/s)", rows.get(), elapsedMillis, rows.get() * 1000 / elapsedMillis);
+    }
+
+    private long seedChunk(int firstUser, int lastUser, TaskStatus[] statusTable, SplittableRandom random,
+                           LocalDateTime createdFrom) {
+        int batchSize = seedProperties.getBatchSize();
+        int tasksPerUser = seedProperties.getTasksPerUser();
+        List<Object[]> users = new ArrayList<>(lastUser - firstUser);
+        for (int index = firstUser; index < lastUser; index++) {
+            users.add(new Object[]{(long) index + 1, "Load Test User " + index, "loadtest.user" + index + "@example.com",
+                    (index == 0 ? Role.ADMIN : Role.USER).name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, role) VALUES (?, ?, ?, ?)", users);
+        long written = users.size();
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int index = firstUser; index < lastUser; index++) {
+            for (int n = 0; n < tasksPerUser; n++) {
+                long id = (long) index * tasksPerUser + n + 1;
+                Timestamp createdAt = Timestamp.valueOf(createdFrom.plus(id, ChronoUnit.MICROS));
+                batch.add(new Object[]{
+                        id,
+                        VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)] + " #" + n,
+                        "Generated for load testing, user " + index + ", task " + n + ". " +
+                                "Lorem ipsum dolor sit amet, consectetur adipiscing elit.".repeat(1 + random.nextInt(4)),
+                        statusTable[random.nextInt(statusTable.length)].name(),
+                        createdAt,
+                        createdAt,
+                        (long) index + 1});
+                if (batch.size() == batchSize) {
+                    written += insertTasks(batch);
+                }
+            }
+        }
+        written += insertTasks(batch);
+        return written;
+    }
+
+    private int insertTasks(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, created_at, updated_at, assigned_to) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    // Every seeding thread holds a connection for its whole chunk
+    private int maximumPoolSize() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : Integer.MAX_VALUE;
+        } catch (SQLException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static TaskStatus[] statusTable(Map<TaskStatus, Integer> weights) {
+        List<TaskStatus> table = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            for (int i = 0; i < weights.getOrDefault(status, 0); i++) {
+                table.add(status);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalStateException("taskmanager.seed.status-weights must contain a positive weight");
+        }
+        return table.toArray(TaskStatus[]::new);
+    }
 }
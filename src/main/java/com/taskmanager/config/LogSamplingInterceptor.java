@@ -0,0 +1,50 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its routine log lines are kept, using the rate configured for the
+ * matched endpoint, and exposes the decision and the endpoint through the MDC.
+ */
+@RequiredArgsConstructor
+public class LogSamplingInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String ENDPOINT_MDC_KEY = "endpoint";
+    public static final String SAMPLED_MDC_KEY = "sampled";
+
+    private final LogSamplingProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        double rate = properties.getRates().getOrDefault(endpoint, properties.getDefaultRate());
+        boolean sampled = rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+
+        MDC.put(ENDPOINT_MDC_KEY, endpoint);
+        MDC.put(SAMPLED_MDC_KEY, Boolean.toString(sampled));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        clear();
+    }
+
+    private void clear() {
+        MDC.remove(ENDPOINT_MDC_KEY);
+        MDC.remove(SAMPLED_MDC_KEY);
+    }
+}
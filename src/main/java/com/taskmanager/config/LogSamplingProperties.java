@@ -0,0 +1,18 @@
+package com.taskmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "taskmanager.logging.sampling")
+public class LogSamplingProperties {
+    
+    // Fraction of requests whose routine (INFO and below) application log lines are kept
+    private double defaultRate = 1.0;
+    
+    // Per-endpoint overrides keyed by "<METHOD> <pattern>", e.g. "GET /tasks/{id}" (escape the space in .properties keys)
+    private Map<String, Double> rates = new HashMap<>();
+}
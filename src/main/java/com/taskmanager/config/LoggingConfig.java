@@ -0,0 +1,20 @@
+package com.taskmanager.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(LogSamplingProperties.class)
+@RequiredArgsConstructor
+public class LoggingConfig implements WebMvcConfigurer {
+
+    private final LogSamplingProperties logSamplingProperties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LogSamplingInterceptor(logSamplingProperties));
+    }
+}
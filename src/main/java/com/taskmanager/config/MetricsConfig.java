@@ -0,0 +1,19 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "taskmanager.service";
+    public static final String MAPPING_TIMER = "taskmanager.mapping";
+
+    // Makes @Timed work on arbitrary beans; every timed method is tagged with its class and method name
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
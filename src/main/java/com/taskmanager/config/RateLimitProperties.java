@@ -0,0 +1,37 @@
+package com.taskmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "taskmanager.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Burst size of each user's token bucket
+    private long capacity = 100;
+
+    // Sustained requests per second allowed per user
+    private double refillPerSecond = 50;
+
+    // Burst size of each remote address's token bucket, shared by every user id sent from that address
+    private long addressCapacity = 500;
+
+    // Sustained requests per second allowed per remote address
+    private double addressRefillPerSecond = 250;
+
+    // Upper bound on tracked users, and separately on tracked addresses; the least recently used are evicted first
+    private long maxClients = 100_000;
+
+    // Buckets of clients idle for this long are dropped (they would be full again anyway)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Global shedding: requests in flight beyond this are answered with 503 straight away
+    private int maxConcurrentRequests = 200;
+
+    // Global shedding: callers already queued for a database connection beyond this trigger 503
+    private int maxConnectionWaiters = 10;
+}
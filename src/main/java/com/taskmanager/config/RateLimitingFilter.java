@@ -0,0 +1,171 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.exception.ErrorResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Protects the API from a single noisy client and from overload in general. Each remote address gets a
+ * token bucket, and each X-User-Id another one, checked after it; whichever runs dry first is answered with
+ * 429. The address bucket comes first because the header is whatever the client sends: a client making up a
+ * new user id per request still spends its address's tokens, and can only add user buckets at that rate.
+ * Independently, requests are shed with 503 while too many are already in flight or while callers are
+ * queueing for a database connection, so the backlog fails fast instead of timing out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "taskmanager.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-User-Id";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final HikariDataSource hikariDataSource;
+    private final ConnectionLimitingDataSource connectionLimiter;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public RateLimitingFilter(RateLimitProperties properties, ObjectMapper objectMapper,
+                              DataSource dataSource, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.addressBuckets = newBucketCache(properties);
+        this.userBuckets = newBucketCache(properties);
+        this.hikariDataSource = unwrap(dataSource, HikariDataSource.class);
+        this.connectionLimiter = unwrap(dataSource, ConnectionLimitingDataSource.class);
+        this.rateLimited = Counter.builder("taskmanager.requests.rejected").tag("reason", "rate_limited")
+                .register(meterRegistry);
+        this.overloaded = Counter.builder("taskmanager.requests.rejected").tag("reason", "overloaded")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.requests.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("taskmanager.ratelimit.clients", addressBuckets, Cache::estimatedSize).tag("key", "address")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.ratelimit.clients", userBuckets, Cache::estimatedSize).tag("key", "user")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks and scrapes must keep answering while the API is shedding load; CORS preflights
+        // are answered by CorsFilter and never count against a client
+        return request.getServletPath().startsWith("/actuator") || CorsUtils.isPreFlightRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+        String client = "ip:" + request.getRemoteAddr();
+        long remaining = addressBuckets.get(client, key -> newAddressBucket(now)).tryConsume(now);
+        String userId = request.getHeader(USER_HEADER);
+        if (remaining >= 0 && userId != null && !userId.isBlank()) {
+            client = "user:" + userId.trim();
+            long userRemaining = userBuckets.get(client, key -> newUserBucket(now)).tryConsume(now);
+            remaining = userRemaining < 0 ? userRemaining : Math.min(remaining, userRemaining);
+        }
+        if (remaining < 0) {
+            rateLimited.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-remaining + 999_999_999L));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Rate limit exceeded for " + client + ", retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        response.setHeader(REMAINING_HEADER, Long.toString(remaining));
+
+        if (inFlight.incrementAndGet() > properties.getMaxConcurrentRequests() || connectionPoolSaturated()) {
+            inFlight.decrementAndGet();
+            overloaded.increment();
+            log.debug("Shedding {} {} from {}", request.getMethod(), request.getRequestURI(), client);
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is overloaded, please retry shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Async requests (SSE, NDJSON export) release their slot once the request thread hands off
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static Cache<String, TokenBucket> newBucketCache(RateLimitProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    private TokenBucket newAddressBucket(long now) {
+        return new TokenBucket(properties.getAddressCapacity(), properties.getAddressRefillPerSecond(), now);
+    }
+
+    private TokenBucket newUserBucket(long now) {
+        return new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond(), now);
+    }
+
+    private boolean connectionPoolSaturated() {
+        int waiters = 0;
+        if (connectionLimiter != null) {
+            waiters += connectionLimiter.getWaitingCount();
+        }
+        if (hikariDataSource != null) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                waiters += pool.getThreadsAwaitingConnection();
+            }
+        }
+        return waiters > properties.getMaxConnectionWaiters();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
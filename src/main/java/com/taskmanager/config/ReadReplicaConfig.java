@@ -0,0 +1,97 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource when {@code taskmanager.datasource.read-replicas.enabled=true}:
+ * the primary pool is still built from {@code spring.datasource.*}, and read-only transactions are routed
+ * to the pools listed under {@code taskmanager.datasource.read-replicas.replicas}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.datasource.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReadReplicaProperties readReplicaProperties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment) {
+        boolean virtualThreads = environment.getProperty(VirtualThreadConfig.VIRTUAL_THREADS_PROPERTY, Boolean.class, false);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> replicaSettings = readReplicaProperties.getReplicas();
+        for (int i = 0; i < replicaSettings.size(); i++) {
+            ReadReplicaProperties.Replica replica = replicaSettings.get(i);
+            String name = "replica-" + (i + 1);
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(readReplicaProperties.getMaximumPoolSize());
+            pool.setConnectionTimeout(readReplicaProperties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even if a replica is down; the health check takes it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            // Not a bean, so the limiter's post-processor never sees it; wrapped here like the primary is
+            replicas.put(name, virtualThreads ? VirtualThreadConfig.limitConnections(name, pool, environment) : pool);
+        }
+        log.info("Routing read-only transactions to {} read replica(s)", replicas.size());
+
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(replicas);
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(ReadReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.setLenientFallback(false);
+        return routingDataSource;
+    }
+
+    // Reads fall back to the primary, so a replica being down is reported here without failing overall health
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return () -> Health.up()
+                .withDetail("unavailable", readReplicaRoutingDataSource.getUnhealthyReplicas())
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
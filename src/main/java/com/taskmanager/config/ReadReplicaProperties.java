@@ -0,0 +1,28 @@
+package com.taskmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "taskmanager.datasource.read-replicas")
+public class ReadReplicaProperties {
+    
+    private boolean enabled;
+    private int maximumPoolSize = 10;
+    // Kept short so a replica that stops answering falls back to the primary quickly
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+    private List<Replica> replicas = new ArrayList<>();
+    
+    @Data
+    public static class Replica {
+        
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round robin, and everything else to the
+ * primary. Replicas failing a health check, or failing to hand out a connection, are skipped until a
+ * later check succeeds; with no healthy replica, reads go to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is only
+ * chosen once the transaction's read-only flag has been set. The target data sources, with the primary under
+ * {@link #PRIMARY} as the default, are set by whoever builds it.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(Map<String, DataSource> replicas) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        for (int i = 0; i < replicaNames.size(); i++) {
+            String replica = replicaNames.get(Math.floorMod(nextReplica.getAndIncrement(), replicaNames.size()));
+            if (!unhealthyReplicas.contains(replica)) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return getResolvedDefaultDataSource().getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            markUnhealthy((String) key, e);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.datasource.read-replicas.health-check-interval}")
+    public void checkReplicas() {
+        replicas.forEach((name, replica) -> {
+            try (Connection connection = replica.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (unhealthyReplicas.remove(name)) {
+                    log.info("Read replica '{}' is healthy again, routing reads to it", name);
+                }
+            } catch (SQLException e) {
+                markUnhealthy(name, e);
+            }
+        });
+    }
+
+    public Set<String> getUnhealthyReplicas() {
+        return Set.copyOf(unhealthyReplicas);
+    }
+
+    private void markUnhealthy(String name, SQLException e) {
+        if (unhealthyReplicas.add(name)) {
+            log.warn("Read replica '{}' is unavailable, routing its reads to the primary: {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        // Unwrapped, as a replica pool may sit behind the connection limiter
+        for (DataSource replica : replicas.values()) {
+            if (replica.isWrapperFor(HikariDataSource.class)) {
+                replica.unwrap(HikariDataSource.class).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Denies INFO and lower events from application loggers on threads handling a request that
+ * {@link LogSamplingInterceptor} did not sample. Warnings and errors, framework loggers and threads
+ * outside a request are never affected.
+ */
+public class SampledLogTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.taskmanager";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.toInt() > Level.INFO_INT || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(LogSamplingInterceptor.SAMPLED_MDC_KEY)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskmanager.config;
+
+import com.taskmanager.model.TaskStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "taskmanager.seed")
+public class SeedProperties {
+
+    // Generate a load-test dataset instead of the handful of sample rows
+    private boolean enabled = false;
+
+    private int users = 1_000;
+
+    private int tasksPerUser = 100;
+
+    // Relative weights of the generated task statuses
+    private Map<TaskStatus, Integer> statusWeights = new EnumMap<>(Map.of(
+            TaskStatus.PENDING, 50,
+            TaskStatus.IN_PROGRESS, 30,
+            TaskStatus.COMPLETED, 20));
+
+    // Same seed, same users, tasks, ids and assignments, however the chunks get scheduled
+    private long randomSeed = 42;
+
+    // Users (with all their tasks) generated and committed per transaction
+    private int chunkSize = 100;
+
+    // Task rows per JDBC batch insert
+    private int batchSize = 500;
+
+    // Capped at the connection pool size, since every seeding thread holds a connection
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the token count and last refill time are swapped together with a CAS, so
+ * concurrent requests from the same client never block each other.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * Takes one token. Returns the whole tokens left (>= 0) on success, or the negated number of
+     * nanoseconds until the next token becomes available when the bucket is empty.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, now - current.refilledAt());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if (tokens < 1) {
+                return -Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+            }
+            State next = new State(tokens - 1, Math.max(now, current.refilledAt()));
+            if (state.compareAndSet(current, next)) {
+                return (long) next.tokens();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Spring Boot already moves Tomcat request
+ * handling and the application task executor (used for async MVC such as the NDJSON export) onto virtual
+ * threads; this adds the connection limiter in front of the Hikari pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = VirtualThreadConfig.VIRTUAL_THREADS_PROPERTY, havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    return limitConnections(beanName, hikariDataSource, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Also applied by ReadReplicaConfig to the replica pools, which are not beans of their own
+    static DataSource limitConnections(String name, HikariDataSource pool, Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "taskmanager.datasource.acquire-timeout", Duration.class, Duration.ofSeconds(20));
+        // Unset (-1) until Hikari validates its config when the pool starts, and then its default of 10
+        int maxConnections = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        log.info("Limiting concurrent connection use of '{}' to {} permits", name, maxConnections);
+        return new ConnectionLimitingDataSource(pool, maxConnections, acquireTimeout);
+    }
+}
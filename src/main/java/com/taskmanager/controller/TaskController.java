@@ -1,21 +1,31 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.taskmanager.dto.*;
 import com.taskmanager.model.Role;
 import com.taskmanager.model.TaskStatus;
+import com.taskmanager.service.ETags;
+import com.taskmanager.service.TaskFields;
 import com.taskmanager.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/tasks")
@@ -23,6 +33,10 @@ import java.util.List;
 @Tag(name = "Task Management", description = "APIs for managing tasks")
 public class TaskController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String FIELDS_DESCRIPTION = "Comma-separated task properties to return, e.g. id,title,status " +
+            "(default: all). Leaving out description and assignedTo also skips reading them";
+
     private final TaskService taskService;
 
     @Operation(summary = "Create a new task", description = "Creates a new task and assigns it to a user")
@@ -39,33 +53,160 @@ public class TaskController {
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all tasks", description = "Retrieves all tasks with optional filtering by status and user")
+    @Operation(summary = "Create tasks in bulk", description = "Creates up to " + BulkResponseDto.MAX_ITEMS +
+            " tasks in one request and reports the outcome of each item")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponseDto> createTasks(
+            @Valid @RequestBody TaskBulkCreateRequestDto bulkRequestDto) {
+        BulkResponseDto result = taskService.createTasks(bulkRequestDto.getTasks());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Get all tasks", description = "Retrieves a page of tasks ordered by creation time, " +
+            "with optional filtering by status and user. Pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TaskPageResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<TaskResponseDto>> getAllTasks(
+    public ResponseEntity<MappingJacksonValue> getAllTasks(
             @Parameter(description = "Filter by task status")
             @RequestParam(required = false) TaskStatus status,
             @Parameter(description = "Filter by user ID")
-            @RequestParam(required = false) Long userId) {
-        List<TaskResponseDto> tasks = taskService.getAllTasks(status, userId);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of tasks to return (1-" + TaskService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        TaskFields taskFields = TaskFields.parse(fields);
+        String eTag = taskService.getTasksETag(status, userId, after, limit, taskFields);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskPageResponseDto tasks = taskService.getAllTasks(status, userId, after, limit, taskFields);
+        // Same URL, different bytes for JSON, CBOR and Smile
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(withFields(tasks, taskFields));
+    }
+
+    @Operation(summary = "Search tasks", description = "Full-text search over task titles and descriptions, " +
+            "ranked by relevance, with optional filtering by status and user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing query or invalid offset or limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponseDto> searchTasks(
+            @Parameter(description = "Search terms", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Filter by task status")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter by user ID")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Number of ranked results to skip (0-" + TaskService.MAX_SEARCH_OFFSET + ")")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of tasks to return (1-" + TaskService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, status, userId, offset, limit));
+    }
+
+    @Operation(summary = "Get task changes", description = "Delta sync: tasks created or updated since the given " +
+            "token and the ids of tasks deleted (or, with userId, reassigned away) since then. Omit 'since' for the " +
+            "first sync, then pass the returned nextToken; keep paging while hasMore is true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+            @ApiResponse(responseCode = "410", description = "Token older than the tombstone retention, a full sync is needed"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponseDto> getTaskChanges(
+            @Parameter(description = "Token returned as nextToken by the previous sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Only tasks assigned to this user")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Maximum number of changed tasks to return (1-" + TaskService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(taskService.getTaskChanges(since, userId, limit));
+    }
+
+    @Operation(summary = "Export all tasks", description = "Streams every task as newline-delimited JSON, one task per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @Operation(summary = "Stream task changes", description = "Server-Sent Events feed of committed task creations, " +
+            "updates, status changes and deletions, optionally filtered by status and user. Reconnect with " +
+            "Last-Event-ID to replay missed changes; a 'resync' event means changes were dropped and tasks should be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed to task changes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(
+            @Parameter(description = "Only changes to or from this status")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Only changes to tasks assigned to or from this user")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Id of the last event received, to replay what was missed")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskService.subscribeToChanges(status, userId, lastEventId);
+    }
+
+    @Operation(summary = "Get task statistics", description = "Retrieves task counts by status, by assignee and by " +
+            "assignee and status, served from counters kept up to date as tasks change")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponseDto> getTaskStatistics() {
+        return ResponseEntity.ok(taskService.getTaskStatistics());
     }
 
     @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Task retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Task retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TaskResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDto> getTaskById(
+    public ResponseEntity<MappingJacksonValue> getTaskById(
             @Parameter(description = "Task ID", required = true)
-            @PathVariable Long id) {
-        TaskResponseDto task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        TaskFields taskFields = TaskFields.parse(fields);
+        String eTag = taskService.getTaskETag(id, taskFields);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskResponseDto task = taskFields.isAll() ? taskService.getTaskById(id) : taskService.getTaskById(id, taskFields);
+        return ResponseEntity.ok().eTag(ETags.forTask(task.getId(), task.getVersion(), taskFields)).varyBy(HttpHeaders.ACCEPT)
+                .body(withFields(task, taskFields));
     }
 
     @Operation(summary = "Update task", description = "Updates task details (title, description, assigned user)")
@@ -74,6 +215,8 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "403", description = "Access denied - can only update own tasks"),
             @ApiResponse(responseCode = "404", description = "Task or user not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Task does not match the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
@@ -84,9 +227,11 @@ public class TaskController {
             @Parameter(description = "Current user ID", required = true)
             @RequestHeader("X-User-Id") Long currentUserId,
             @Parameter(description = "Current user role", required = true)
-            @RequestHeader("X-User-Role") Role currentUserRole) {
-        TaskResponseDto updatedTask = taskService.updateTask(id, taskUpdateDto, currentUserId, currentUserRole);
-        return ResponseEntity.ok(updatedTask);
+            @RequestHeader("X-User-Role") Role currentUserRole,
+            @Parameter(description = "Only update if the task still has this ETag")
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        TaskResponseDto updatedTask = taskService.updateTask(id, taskUpdateDto, currentUserId, currentUserRole, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.forTask(updatedTask.getId(), updatedTask.getVersion())).body(updatedTask);
     }
 
     @Operation(summary = "Update task status", description = "Updates only the status of a task")
@@ -95,6 +240,8 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Invalid status"),
             @ApiResponse(responseCode = "403", description = "Access denied - can only update own tasks"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Task does not match the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PatchMapping("/{id}/status")
@@ -105,9 +252,29 @@ public class TaskController {
             @Parameter(description = "Current user ID", required = true)
             @RequestHeader("X-User-Id") Long currentUserId,
             @Parameter(description = "Current user role", required = true)
+            @RequestHeader("X-User-Role") Role currentUserRole,
+            @Parameter(description = "Only update if the task still has this ETag")
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        TaskResponseDto updatedTask = taskService.updateTaskStatus(id, statusUpdateDto, currentUserId, currentUserRole, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.forTask(updatedTask.getId(), updatedTask.getVersion())).body(updatedTask);
+    }
+
+    @Operation(summary = "Update task statuses in bulk", description = "Updates the status of up to " +
+            BulkResponseDto.MAX_ITEMS + " tasks in one request and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping("/status/bulk")
+    public ResponseEntity<BulkResponseDto> updateTaskStatuses(
+            @Valid @RequestBody TaskStatusBulkUpdateDto bulkUpdateDto,
+            @Parameter(description = "Current user ID", required = true)
+            @RequestHeader("X-User-Id") Long currentUserId,
+            @Parameter(description = "Current user role", required = true)
             @RequestHeader("X-User-Role") Role currentUserRole) {
-        TaskResponseDto updatedTask = taskService.updateTaskStatus(id, statusUpdateDto, currentUserId, currentUserRole);
-        return ResponseEntity.ok(updatedTask);
+        BulkResponseDto result = taskService.updateTaskStatuses(bulkUpdateDto.getUpdates(), currentUserId, currentUserRole);
+        return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "Delete task", description = "Deletes a task (ADMIN only)")
@@ -126,4 +293,13 @@ public class TaskController {
         taskService.deleteTask(id, currentUserRole);
         return ResponseEntity.noContent().build();
     }
+
+    private static MappingJacksonValue withFields(Object body, TaskFields fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fields.isAll()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(TaskResponseDto.FIELD_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+        }
+        return value;
+    }
 }
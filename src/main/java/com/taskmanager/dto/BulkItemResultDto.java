@@ -0,0 +1,16 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDto {
+    
+    private int index;
+    private int status;
+    private TaskResponseDto task;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResponseDto {
+    
+    public static final int MAX_ITEMS = 5000;
+    
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDto> results;
+}
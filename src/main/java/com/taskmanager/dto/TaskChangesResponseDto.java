@@ -0,0 +1,18 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponseDto {
+    
+    private List<TaskResponseDto> changed;
+    private List<Long> removed;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponseDto {
+    
+    private List<TaskResponseDto> items;
+    private String nextCursor;
+}
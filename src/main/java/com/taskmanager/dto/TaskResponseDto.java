@@ -1,5 +1,6 @@
 package com.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.taskmanager.model.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,16 +8,20 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+@JsonFilter(TaskResponseDto.FIELD_FILTER)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskResponseDto {
     
+    public static final String FIELD_FILTER = "taskFields";
+    
     private Long id;
     private String title;
     private String description;
     private TaskStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private UserResponseDto assignedTo;
 }
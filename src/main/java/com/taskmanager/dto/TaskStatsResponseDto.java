@@ -0,0 +1,19 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponseDto {
+    
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Long, Long> byAssignee;
+    private Map<Long, Map<TaskStatus, Long>> byAssigneeAndStatus;
+}
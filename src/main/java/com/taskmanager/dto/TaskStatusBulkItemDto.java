@@ -0,0 +1,19 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusBulkItemDto {
+    
+    @NotNull(message = "Task ID is required")
+    private Long id;
+    
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
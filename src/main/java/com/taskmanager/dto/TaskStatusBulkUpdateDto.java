@@ -0,0 +1,20 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusBulkUpdateDto {
+    
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = BulkResponseDto.MAX_ITEMS, message = "At most " + BulkResponseDto.MAX_ITEMS + " updates per request")
+    private List<@Valid TaskStatusBulkItemDto> updates;
+}
@@ -14,5 +14,5 @@ public class UserResponseDto {
     private String name;
     private String email;
     private Role role;
-    private int taskCount;
+    private long taskCount;
 }
@@ -0,0 +1,28 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes each event as one line to the {@code taskmanager.outbox} logger, which can be routed to its own
+ * file through the logging configuration.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.sinks.log.enabled", havingValue = "true")
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger OUTBOX_LOG = LoggerFactory.getLogger("taskmanager.outbox");
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        OUTBOX_LOG.info("{} {} {}", event.getId(), event.getEventType(), event.getPayload());
+    }
+}
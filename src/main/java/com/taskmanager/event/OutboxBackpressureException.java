@@ -0,0 +1,8 @@
+package com.taskmanager.event;
+
+public class OutboxBackpressureException extends RuntimeException {
+    
+    public OutboxBackpressureException(String message) {
+        super(message);
+    }
+}
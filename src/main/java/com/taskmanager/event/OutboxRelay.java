@@ -0,0 +1,164 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.OutboxEvent;
+import com.taskmanager.model.OutboxStatus;
+import com.taskmanager.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table to the configured {@link OutboxSink}s in batches, off the request path.
+ * Delivered events are deleted; failed ones are retried with exponential backoff and parked as
+ * {@link OutboxStatus#FAILED} once they run out of attempts. A sink signalling backpressure ends the
+ * current poll, leaving the remaining events in the table for the next one.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final Counter relayedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter backpressureCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${taskmanager.outbox.batch-size}") int batchSize,
+                       @Value("${taskmanager.outbox.max-batches-per-poll}") int maxBatchesPerPoll,
+                       @Value("${taskmanager.outbox.max-attempts}") int maxAttempts,
+                       @Value("${taskmanager.outbox.retry-backoff}") Duration retryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        this.relayedCounter = Counter.builder("outbox.events")
+                .tag("result", "relayed")
+                .description("Outbox events delivered to every sink")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("outbox.events")
+                .tag("result", "retried")
+                .description("Outbox event deliveries that failed and were rescheduled")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events")
+                .tag("result", "failed")
+                .description("Outbox events parked after exhausting their attempts")
+                .register(meterRegistry);
+        this.backpressureCounter = Counter.builder("outbox.backpressure")
+                .description("Relay polls cut short because a sink was full")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to relay one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting to be relayed")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event waiting to be relayed")
+                .register(meterRegistry);
+        log.info("Outbox relay publishing to sinks: {}", sinks.stream().map(OutboxSink::getName).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.poll-interval}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            BatchResult result = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            if (result.backpressure()) {
+                backpressureCounter.increment();
+                break;
+            }
+            if (result.size() < batchSize) {
+                break;
+            }
+        }
+        updateBacklogMetrics();
+    }
+
+    private record BatchResult(int size, boolean backpressure) {
+    }
+
+    private BatchResult relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findBatchToRelay(OutboxStatus.PENDING, now, Limit.of(batchSize));
+        List<OutboxEvent> delivered = new ArrayList<>(events.size());
+        boolean backpressure = false;
+
+        for (OutboxEvent event : events) {
+            try {
+                for (OutboxSink sink : sinks) {
+                    sink.publish(event);
+                }
+                delivered.add(event);
+            } catch (OutboxBackpressureException e) {
+                log.debug("Outbox relay paused: {}", e.getMessage());
+                backpressure = true;
+                break;
+            } catch (Exception e) {
+                reschedule(event, e, now);
+            }
+        }
+
+        // One DELETE for the whole batch; rescheduled events are flushed as batched UPDATEs on commit
+        outboxEventRepository.deleteAllInBatch(delivered);
+        relayedCounter.increment(delivered.size());
+        return new BatchResult(events.size(), backpressure);
+    }
+
+    private void reschedule(OutboxEvent event, Exception error, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            failedCounter.increment();
+            log.error("Outbox event {} failed after {} attempts: {}", event.getId(), attempts, message);
+        } else {
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+            event.setAvailableAt(now.plus(backoff));
+            retriedCounter.increment();
+            log.warn("Outbox event {} delivery failed (attempt {}), retrying in {}: {}", event.getId(), attempts, backoff, message);
+        }
+    }
+
+    private void updateBacklogMetrics() {
+        pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        lagMillis.set(outboxEventRepository.findOldestCreatedAt(OutboxStatus.PENDING)
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+}
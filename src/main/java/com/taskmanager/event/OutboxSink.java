@@ -0,0 +1,15 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.OutboxEvent;
+
+/**
+ * Downstream destination for outbox events. Delivery is at least once: an event is retried (on every
+ * sink) until all sinks accept it, so implementations should tolerate duplicates. Throw
+ * {@link OutboxBackpressureException} to pause the relay without counting a failed attempt.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    void publish(OutboxEvent event) throws Exception;
+}
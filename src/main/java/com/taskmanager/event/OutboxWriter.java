@@ -0,0 +1,37 @@
+package com.taskmanager.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.model.OutboxEvent;
+import com.taskmanager.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records every task change in the outbox table inside the transaction that made it, so the change and
+ * its event are committed (or rolled back) together. Delivery happens later in {@link OutboxRelay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Ahead of the change sequencer, so the insert is not left for the commit flush while the clock is held
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    @Order(TaskChangeSequencer.ORDER - 1)
+    public void onTaskChanged(TaskChangedEvent change) throws JsonProcessingException {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(change.type());
+        event.setTaskId(change.taskId());
+        event.setPayload(objectMapper.writeValueAsString(change));
+        event.setAvailableAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+    }
+}
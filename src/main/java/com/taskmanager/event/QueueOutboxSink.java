@@ -0,0 +1,54 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded in-process queue for consumers living in this application. When consumers fall behind and the
+ * queue is full, the relay is told to back off and the events stay in the outbox table. Ordered first so
+ * a full queue stops delivery before other sinks see the event, which is why it is off by default and must
+ * only be enabled together with a consumer that keeps draining it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "taskmanager.outbox.sinks.queue.enabled", havingValue = "true")
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEvent> queue;
+
+    public QueueOutboxSink(@Value("${taskmanager.outbox.sinks.queue.capacity}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public String getName() {
+        return "queue";
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        if (!queue.offer(event)) {
+            throw new OutboxBackpressureException("Outbox queue is full (" + queue.size() + " events)");
+        }
+    }
+
+    public OutboxEvent poll() {
+        return queue.poll();
+    }
+
+    public int drainTo(Collection<? super OutboxEvent> events, int maxEvents) {
+        return queue.drainTo(events, maxEvents);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
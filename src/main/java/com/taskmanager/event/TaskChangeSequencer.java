@@ -0,0 +1,107 @@
+package com.taskmanager.event;
+
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gives every writing transaction one change_seq, taken from the task_sync_clock row as the very last step
+ * before commit, and stamps it on the tasks and tombstones the transaction wrote. Until then those rows
+ * carry a mark of their own, so taking the clock only adds one indexed update per table, and the clock row
+ * is locked from there to the commit. Sequence values still become visible strictly in order: once a reader
+ * sees the clock at N, every change up to N is committed, however long the transactions that made them ran.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeSequencer {
+
+    // Runs after the BEFORE_COMMIT listeners ordered ahead of it, so the rows they write are marked by then
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final int STAMP_CHUNK_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        Changes changes = currentChanges();
+        if (change.type() != TaskChangeType.DELETED) {
+            changes.taskIds.add(change.taskId());
+        }
+    }
+
+    /**
+     * The mark for a tombstone written by the current transaction; replaced by its change_seq at commit.
+     */
+    public long tombstoneMark() {
+        Changes changes = currentChanges();
+        changes.tombstones = true;
+        return changes.mark();
+    }
+
+    private Changes currentChanges() {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    private final class Changes implements TransactionSynchronization {
+
+        private final Set<Long> taskIds = new LinkedHashSet<>();
+        private boolean tombstones;
+        private Long mark;
+
+        private long mark() {
+            if (mark == null) {
+                mark = taskRepository.nextChangeMark();
+            }
+            return mark;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (taskIds.isEmpty() && !tombstones) {
+                return;
+            }
+            long changeMark = mark();
+            List<Long> ids = new ArrayList<>(taskIds);
+            for (int from = 0; from < ids.size(); from += STAMP_CHUNK_SIZE) {
+                taskRepository.updateChangeSeq(ids.subList(from, Math.min(from + STAMP_CHUNK_SIZE, ids.size())), changeMark);
+            }
+            // Flush first, so no other row locks are still to be taken while this transaction holds the clock
+            taskRepository.flush();
+            long changeSeq = taskRepository.nextChangeSeq();
+            if (!taskIds.isEmpty()) {
+                taskRepository.replaceChangeMark(changeMark, changeSeq);
+            }
+            if (tombstones) {
+                taskTombstoneRepository.replaceChangeMark(changeMark, changeSeq);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TaskChangeSequencer.this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.model.TaskStatus;
+
+/**
+ * Published by {@code TaskService} inside the writing transaction. The previous status and assignee are
+ * null for creations; the current ones and the task snapshot are null for deletions.
+ */
+public record TaskChangedEvent(
+        TaskChangeType type,
+        Long taskId,
+        TaskStatus previousStatus,
+        Long previousAssigneeId,
+        TaskStatus status,
+        Long assigneeId,
+        TaskResponseDto task) {
+
+    public static TaskChangedEvent created(TaskResponseDto task) {
+        return new TaskChangedEvent(TaskChangeType.CREATED, task.getId(), null, null,
+                task.getStatus(), task.getAssignedTo().getId(), task);
+    }
+
+    public static TaskChangedEvent updated(TaskChangeType type, TaskStatus previousStatus, Long previousAssigneeId,
+                                           TaskResponseDto task) {
+        return new TaskChangedEvent(type, task.getId(), previousStatus, previousAssigneeId,
+                task.getStatus(), task.getAssignedTo().getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, TaskStatus previousStatus, Long previousAssigneeId) {
+        return new TaskChangedEvent(TaskChangeType.DELETED, taskId, previousStatus, previousAssigneeId,
+                null, null, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.event;
+
+import com.taskmanager.model.TaskTombstone;
+import com.taskmanager.model.TombstoneReason;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * Leaves a tombstone, in the writing transaction, whenever a task is deleted or moves to another
+ * assignee, so delta sync can report removals that no longer have a row to show up in.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskTombstoneWriter {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskChangeSequencer taskChangeSequencer;
+
+    // Ahead of the change sequencer, which replaces the tombstone's mark with the transaction's change_seq
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    @Order(TaskChangeSequencer.ORDER - 1)
+    public void onTaskChanged(TaskChangedEvent change) {
+        if (change.type() == TaskChangeType.DELETED) {
+            save(change, TombstoneReason.DELETED);
+        } else if (change.previousAssigneeId() != null && !Objects.equals(change.previousAssigneeId(), change.assigneeId())) {
+            save(change, TombstoneReason.REASSIGNED);
+        }
+    }
+
+    private void save(TaskChangedEvent change, TombstoneReason reason) {
+        TaskTombstone tombstone = new TaskTombstone();
+        tombstone.setTaskId(change.taskId());
+        tombstone.setUserId(change.previousAssigneeId());
+        tombstone.setReason(reason);
+        tombstone.setChangeSeq(taskChangeSequencer.tombstoneMark());
+        taskTombstoneRepository.save(tombstone);
+    }
+}
@@ -0,0 +1,6 @@
+package com.taskmanager.model;
+
+public enum OutboxStatus {
+    PENDING,
+    FAILED
+}
@@ -5,20 +5,29 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_tasks_assignee_created_at", columnList = "assigned_to, created_at, id"),
+        @Index(name = "idx_tasks_assignee_status_created_at", columnList = "assigned_to, status, created_at, id"),
+        @Index(name = "idx_tasks_change_seq", columnList = "change_seq, id"),
+        @Index(name = "idx_tasks_assignee_change_seq", columnList = "assigned_to, change_seq, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -40,6 +49,16 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    // Stamped by TaskChangeSequencer with a bulk update at commit; never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private Long changeSeq;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to", nullable = false)
     private User assignedTo;
@@ -0,0 +1,47 @@
+package com.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trace of a task that disappeared from a sync scope: deleted outright, or reassigned away from
+ * {@code userId}. Kept for the sync retention period so delta sync clients can drop their copies.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_task_tombstones_user_change_seq", columnList = "user_id, change_seq"),
+        @Index(name = "idx_task_tombstones_removed_at", columnList = "removed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstone_seq")
+    @SequenceGenerator(name = "task_tombstone_seq", sequenceName = "task_tombstones_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TombstoneReason reason;
+    
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+    
+    @CreationTimestamp
+    @Column(name = "removed_at", nullable = false, updatable = false)
+    private LocalDateTime removedAt;
+}
@@ -0,0 +1,6 @@
+package com.taskmanager.model;
+
+public enum TombstoneReason {
+    DELETED,
+    REASSIGNED
+}
@@ -0,0 +1,4 @@
+package com.taskmanager.repository;
+
+public record ChangePosition(Long id, Long changeSeq) {
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.OutboxEvent;
+import com.taskmanager.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // A lock timeout of -2 is SKIP LOCKED, so several relays can drain the outbox without blocking each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.availableAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findBatchToRelay(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Limit limit);
+    
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("status") OutboxStatus status);
+    
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,6 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskStatus;
+
+public record TaskCount(Long assigneeId, TaskStatus status, long count) {
+}
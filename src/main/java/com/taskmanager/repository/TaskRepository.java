@@ -2,16 +2,24 @@ package com.taskmanager.repository;
 
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     
     List<Task> findByStatus(TaskStatus status);
     
@@ -22,11 +30,40 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t JOIN FETCH t.assignedTo WHERE t.id = :id")
     Optional<Task> findByIdWithUser(@Param("id") Long id);
     
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.taskmanager.repository.TaskState(t.id, t.status, t.assignedTo.id, t.version) " +
+           "FROM Task t WHERE t.id = :id")
+    Optional<TaskState> findStateById(@Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") TaskStatus status,
+                              @Param("updatedAt") LocalDateTime updatedAt, @Param("version") Long version);
+    
+    // A bulk update, so neither the version nor updatedAt of the stamped tasks change
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.changeSeq = :changeSeq WHERE t.id IN :ids")
+    int updateChangeSeq(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.changeSeq = :changeSeq WHERE t.changeSeq = :mark")
+    int replaceChangeMark(@Param("mark") long mark, @Param("changeSeq") long changeSeq);
+    
+    @Query("SELECT t FROM Task t JOIN FETCH t.assignedTo WHERE t.id IN :ids")
+    List<Task> findAllByIdWithUser(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT t FROM Task t JOIN FETCH t.assignedTo")
     List<Task> findAllWithUsers();
     
-    @Query("SELECT t FROM Task t JOIN FETCH t.assignedTo WHERE " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:userId IS NULL OR t.assignedTo.id = :userId)")
-    List<Task> findTasksWithFilters(@Param("status") TaskStatus status, @Param("userId") Long userId);
+    @Query("SELECT new com.taskmanager.repository.TaskCount(t.assignedTo.id, t.status, COUNT(t)) " +
+           "FROM Task t GROUP BY t.assignedTo.id, t.status")
+    List<TaskCount> countByAssigneeAndStatus();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.taskmanager.repository.TaskRow(t.id, t.title, t.description, t.status, t.createdAt, " +
+           "t.updatedAt, t.version, u.id, u.name, u.email, u.role) FROM Task t JOIN t.assignedTo u ORDER BY t.id")
+    Stream<TaskRow> streamAllRows();
 }
@@ -0,0 +1,27 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit);
+
+    List<ChangePosition> findChangePositions(Specification<Task> specification, int limit);
+
+    // A negative value no other transaction gets, for rows whose change_seq is not taken yet
+    long nextChangeMark();
+
+    // Increments the task_sync_clock row, which stays locked until the calling transaction ends
+    long nextChangeSeq();
+
+    // The highest change_seq whose transaction has committed
+    long currentChangeSeq();
+
+    // Leaves description and the assignee join out of the select list when they are not wanted
+    List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit,
+                           boolean withDescription, boolean withAssignee);
+}
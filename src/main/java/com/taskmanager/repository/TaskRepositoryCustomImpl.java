@@ -0,0 +1,102 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Role;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ChangePosition> findChangePositions(Specification<Task> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ChangePosition> query = cb.createQuery(ChangePosition.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(ChangePosition.class, root.get("id"), root.get("changeSeq")));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(TaskSpecifications.SYNC_ORDER, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long nextChangeMark() {
+        return -((Number) entityManager.createNativeQuery("SELECT nextval('task_change_marks_seq')")
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public long nextChangeSeq() {
+        entityManager.createNativeQuery("UPDATE task_sync_clock SET change_seq = change_seq + 1 WHERE id = 1")
+                .executeUpdate();
+        return currentChangeSeq();
+    }
+
+    @Override
+    public long currentChangeSeq() {
+        return ((Number) entityManager.createNativeQuery("SELECT change_seq FROM task_sync_clock WHERE id = 1")
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit) {
+        return findRows(specification, sort, limit, true, true);
+    }
+
+    @Override
+    public List<TaskRow> findRows(Specification<Task> specification, Sort sort, int limit,
+                                  boolean withDescription, boolean withAssignee) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        Root<Task> root = query.from(Task.class);
+        Selection<String> description = withDescription ? root.get("description") : cb.nullLiteral(String.class);
+        Selection<?>[] assigneeColumns;
+        if (withAssignee) {
+            Join<Task, User> assignee = root.join("assignedTo");
+            assigneeColumns = new Selection<?>[]{
+                    assignee.get("id"), assignee.get("name"), assignee.get("email"), assignee.get("role")};
+        } else {
+            // The foreign key column alone, no join to users
+            assigneeColumns = new Selection<?>[]{
+                    root.get("assignedTo").get("id"), cb.nullLiteral(String.class), cb.nullLiteral(String.class),
+                    cb.nullLiteral(Role.class)};
+        }
+        query.select(cb.construct(TaskRow.class,
+                root.get("id"),
+                root.get("title"),
+                description,
+                root.get("status"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("version"),
+                assigneeColumns[0],
+                assigneeColumns[1],
+                assigneeColumns[2],
+                assigneeColumns[3]));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Role;
+import com.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a task response needs, selected straight into a record so list reads never hydrate (or
+ * track) Task and User entities.
+ */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        Long assigneeId,
+        String assigneeName,
+        String assigneeEmail,
+        Role assigneeRole) {
+}
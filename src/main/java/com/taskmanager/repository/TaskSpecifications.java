@@ -0,0 +1,73 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Task filters that only add a predicate for the values actually given, so every filter combination
+ * compiles to its own plain equality query that can use the matching index.
+ */
+public final class TaskSpecifications {
+
+    public static final Sort KEYSET_ORDER = Sort.by("createdAt", "id");
+    public static final Sort SYNC_ORDER = Sort.by("changeSeq", "id");
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> withFilters(TaskStatus status, Long userId) {
+        Specification<Task> specification = Specification.where(null);
+        if (status != null) {
+            specification = specification.and(hasStatus(status));
+        }
+        if (userId != null) {
+            specification = specification.and(assignedTo(userId));
+        }
+        return specification;
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), userId);
+    }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> createdAfter(LocalDateTime createdAt, Long id) {
+        // created_at >= ? keeps the keyset condition a range scan on the created_at index columns
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.greaterThan(root.get("createdAt"), createdAt),
+                        cb.greaterThan(root.get("id"), id)));
+    }
+
+    public static Specification<Task> changedAfter(long changeSeq, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("changeSeq"), changeSeq),
+                cb.or(
+                        cb.greaterThan(root.get("changeSeq"), changeSeq),
+                        cb.greaterThan(root.get("id"), id)));
+    }
+
+    public static Specification<Task> changedUpTo(long changeSeq) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("changeSeq"), changeSeq);
+    }
+
+    public static Specification<Task> fetchAssignee() {
+        return (root, query, cb) -> {
+            root.fetch("assignedTo");
+            return null;
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskStatus;
+
+public record TaskState(Long id, TaskStatus status, Long assigneeId, Long version) {
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    @Query("SELECT DISTINCT t.taskId FROM TaskTombstone t WHERE t.reason = com.taskmanager.model.TombstoneReason.DELETED " +
+           "AND t.changeSeq > :from AND t.changeSeq <= :to")
+    List<Long> findDeletedTaskIds(@Param("from") long from, @Param("to") long to);
+    
+    @Query("SELECT DISTINCT t.taskId FROM TaskTombstone t WHERE t.userId = :userId " +
+           "AND t.changeSeq > :from AND t.changeSeq <= :to")
+    List<Long> findRemovedTaskIds(@Param("userId") Long userId, @Param("from") long from, @Param("to") long to);
+    
+    @Modifying
+    @Query("UPDATE TaskTombstone t SET t.changeSeq = :changeSeq WHERE t.changeSeq = :mark")
+    int replaceChangeMark(@Param("mark") long mark, @Param("changeSeq") long changeSeq);
+    
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.removedAt < :cutoff")
+    int deleteRemovedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,12 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.UserResponseDto;
 import com.taskmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.tasks WHERE u.id = :id")
     Optional<User> findByIdWithTasks(Long id);
+    
+    @Query("SELECT new com.taskmanager.dto.UserResponseDto(u.id, u.name, u.email, u.role, COUNT(t)) " +
+           "FROM User u LEFT JOIN u.tasks t " +
+           "GROUP BY u.id, u.name, u.email, u.role ORDER BY u.id")
+    List<UserResponseDto> findAllWithTaskCount();
+    
+    @Query("SELECT new com.taskmanager.dto.UserResponseDto(u.id, u.name, u.email, u.role, COUNT(t)) " +
+           "FROM User u LEFT JOIN u.tasks t WHERE u.id = :id " +
+           "GROUP BY u.id, u.name, u.email, u.role")
+    Optional<UserResponseDto> findByIdWithTaskCount(Long id);
 }
@@ -0,0 +1,46 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.UserResponseDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong entity tags from the values that determine a representation.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forTask(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    public static String forTask(Long id, Long version, TaskFields fields) {
+        // The full representation keeps the tag that updates return and If-Match is checked against
+        return fields.isAll() ? forTask(id, version) : of("task", id, version, fields);
+    }
+
+    public static String forUser(UserResponseDto user) {
+        return of("user", user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getTaskCount());
+    }
+
+    /**
+     * Evaluates an If-Match header value against the current tag using strong comparison.
+     */
+    public static boolean matches(String ifMatch, String eTag) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+    }
+
+    public static String of(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync watermark: the keyset position over {@code (changeSeq, id)} reached in the tasks
+ * table, the change sequence up to which tombstones have already been handed out, and when the token
+ * was issued (for expiry against the tombstone retention).
+ */
+public record SyncToken(long changeSeq, Long id, long removedUpTo, LocalDateTime issuedAt) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + id + SEPARATOR + removedUpTo + SEPARATOR + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            return new SyncToken(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]),
+                    LocalDateTime.parse(parts[3]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid sync token: " + token);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.CacheConfig;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.event.TaskChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * The tasks cache, guarded against stale puts. A read can load a task just before a writer commits and put
+ * it just after the writer's post-commit eviction, where it would stay for the full TTL. Every committed
+ * change bumps a write stamp for the task's id; a read takes the stamp before it loads and, once it has put
+ * its result, evicts it again if the stamp moved. Stamps are striped by id, so a write to another task on
+ * the same stripe only costs a miss.
+ */
+@Component
+public class TaskCache {
+
+    private static final int STAMP_STRIPES = 4096;
+
+    private final Cache cache;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public TaskCache(CacheManager cacheManager) {
+        // The target cache: the guard only works if puts and evictions happen when called, not at commit
+        Cache tasksCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.cache = tasksCache instanceof TransactionAwareCacheDecorator decorator
+                ? decorator.getTargetCache()
+                : tasksCache;
+    }
+
+    public TaskResponseDto get(Long id) {
+        return cache.get(id, TaskResponseDto.class);
+    }
+
+    public TaskResponseDto get(Long id, Supplier<TaskResponseDto> loader) {
+        TaskResponseDto cached = get(id);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(id);
+        long stamp = writeStamps.get(stripe);
+        TaskResponseDto task = loader.get();
+        cache.put(id, task);
+        // Checked after the put: either this sees a concurrent writer's stamp, or its eviction comes after the put
+        if (writeStamps.get(stripe) != stamp) {
+            cache.evict(id);
+        }
+        return task;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        writeStamps.incrementAndGet(stripe(change.taskId()));
+        cache.evict(change.taskId());
+    }
+
+    private static int stripe(Long id) {
+        return (int) Math.floorMod(id, (long) STAMP_STRIPES);
+    }
+}
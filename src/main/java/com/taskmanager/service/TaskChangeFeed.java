@@ -0,0 +1,233 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed task changes out to SSE subscribers. Every change gets a sequence number used as the
+ * SSE event id and is kept in a ring buffer so a reconnecting client can resume from its Last-Event-ID.
+ * Each subscriber has a bounded queue drained on the feed's own small pool of sender threads, so clients
+ * that stop reading can only hold up other subscribers, never async MVC requests such as the export. A
+ * subscriber that falls behind (or asks to resume from outside the replay window) has its backlog dropped
+ * and receives a {@value #RESYNC_EVENT} event telling it to reload through {@code GET /tasks}; one whose
+ * send stays blocked past the send timeout is dropped from the feed and closed once the write returns
+ * (at the latest when it hits the container's write timeout).
+ */
+@Component
+@Slf4j
+public class TaskChangeFeed implements DisposableBean {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final ThreadPoolTaskExecutor senderExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    private final FeedEvent[] replayBuffer;
+    private long lastSequence;
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    private record FeedEvent(long sequence, TaskChangedEvent change) {
+    }
+
+    public TaskChangeFeed(@Value("${taskmanager.stream.replay-size}") int replaySize,
+                          @Value("${taskmanager.stream.buffer-size}") int bufferSize,
+                          @Value("${taskmanager.stream.timeout}") Duration timeout,
+                          @Value("${taskmanager.stream.sender-threads}") int senderThreads,
+                          @Value("${taskmanager.stream.send-timeout}") Duration sendTimeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.replayBuffer = new FeedEvent[replaySize];
+        // Platform threads: SseEmitter sends under a monitor, which would pin a virtual thread's carrier while
+        // the write blocks. The queue holds at most one drain per subscriber.
+        this.senderExecutor = new ThreadPoolTaskExecutor();
+        this.senderExecutor.setCorePoolSize(senderThreads);
+        this.senderExecutor.setMaxPoolSize(senderThreads);
+        this.senderExecutor.setThreadNamePrefix("task-feed-");
+        this.senderExecutor.initialize();
+    }
+
+    public SseEmitter subscribe(TaskStatus status, Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, status, userId, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Replaying and registering under the buffer lock means no change is either missed or delivered twice
+        synchronized (replayBuffer) {
+            if (lastEventId != null) {
+                long oldestRetained = Math.max(1, lastSequence - replayBuffer.length + 1);
+                if (lastEventId < oldestRetained - 1 || lastEventId > lastSequence) {
+                    subscriber.resync = true;
+                } else {
+                    for (long sequence = lastEventId + 1; sequence <= lastSequence; sequence++) {
+                        subscriber.offer(replayBuffer[(int) (sequence % replayBuffer.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        log.info("Task change subscriber added (status: {}, userId: {}, lastEventId: {}), {} active",
+                status, userId, lastEventId, subscribers.size());
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        synchronized (replayBuffer) {
+            FeedEvent event = new FeedEvent(++lastSequence, change);
+            replayBuffer[(int) (event.sequence() % replayBuffer.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedRateString = "${taskmanager.stream.heartbeat-interval}")
+    public void sendHeartbeats() {
+        // Keeps idle connections from being closed by proxies and detects clients that went away
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendStartedAt = subscriber.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutNanos) {
+                // The emitter is locked by the blocked send, so it is closed by its sender once the write returns
+                log.warn("Dropping task change subscriber (status: {}, userId: {}) blocked on a send for {} ms",
+                        subscriber.status, subscriber.userId, Duration.ofNanos(now - sendStartedAt).toMillis());
+                subscriber.dropped = true;
+                subscribers.remove(subscriber);
+                continue;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        senderExecutor.shutdown();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true)) {
+            senderExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.dropped) {
+                if (subscriber.resync) {
+                    subscriber.resync = false;
+                    subscriber.send(SseEmitter.event()
+                            .name(RESYNC_EVENT)
+                            .data(Map.of("reason", "Missed task changes, reload tasks and reconnect"), MediaType.APPLICATION_JSON));
+                }
+                FeedEvent event = subscriber.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                subscriber.send(SseEmitter.event()
+                        .id(Long.toString(event.sequence()))
+                        .name(event.change().type().name())
+                        .data(event.change(), MediaType.APPLICATION_JSON));
+            }
+            if (subscriber.heartbeatDue && !subscriber.dropped) {
+                subscriber.heartbeatDue = false;
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            }
+            if (subscriber.dropped) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Task change subscriber disconnected: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered after the last poll but before the flag was cleared still need a drain
+        schedule(subscriber);
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final TaskStatus status;
+        private final Long userId;
+        private final Queue<FeedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resync;
+        private volatile boolean heartbeatDue;
+        private volatile boolean dropped;
+        // System.nanoTime() when the send in progress started, 0 while no send is running
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, TaskStatus status, Long userId, Queue<FeedEvent> queue) {
+            this.emitter = emitter;
+            this.status = status;
+            this.userId = userId;
+            this.queue = queue;
+        }
+
+        private void offer(FeedEvent event) {
+            if (!matches(event.change())) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Too slow to keep up: drop the backlog rather than buffer without bound
+                queue.clear();
+                resync = true;
+            }
+        }
+
+        // Previous values count too, so subscribers also see tasks leaving their filter
+        private boolean matches(TaskChangedEvent change) {
+            return (status == null || status == change.status() || status == change.previousStatus())
+                    && (userId == null || Objects.equals(userId, change.assigneeId())
+                            || Objects.equals(userId, change.previousAssigneeId()));
+        }
+
+        private boolean hasWork() {
+            return resync || heartbeatDue || !queue.isEmpty();
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.GoneException;
+import com.taskmanager.event.TaskChangeSequencer;
+import com.taskmanager.model.Task;
+import com.taskmanager.repository.ChangePosition;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRow;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over the tasks table. Changed tasks are read by keyset over {@code (change_seq, id)} and
+ * removals come from the tombstone table, so a sync costs as much as the churn since the last token.
+ * change_seq is handed out at commit by {@link TaskChangeSequencer}, in commit order, so everything up
+ * to the clock value read at the start of a call is already visible and nothing can land behind it later.
+ */
+@Component
+@Slf4j
+public class TaskDeltaSync {
+
+    public record Delta(List<TaskRow> rows, List<Long> removedIds, String nextToken, boolean hasMore) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration tombstoneRetention;
+
+    public TaskDeltaSync(TaskRepository taskRepository,
+                         TaskTombstoneRepository taskTombstoneRepository,
+                         @Value("${taskmanager.sync.tombstone-retention}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public Delta changesSince(String since, Long userId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken from = since == null ? null : SyncToken.decode(since);
+        if (from != null && from.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new GoneException("Sync token has expired, start a full sync without 'since'");
+        }
+        // Read before the rows, so it never runs ahead of what the queries below can see
+        long watermark = taskRepository.currentChangeSeq();
+
+        Specification<Task> specification = TaskSpecifications.withFilters(null, userId)
+                .and(TaskSpecifications.changedUpTo(watermark));
+        if (from != null) {
+            specification = specification.and(TaskSpecifications.changedAfter(from.changeSeq(), from.id()));
+        }
+        // Fetch one extra position to find out whether another page exists
+        List<ChangePosition> positions = taskRepository.findChangePositions(specification, limit + 1);
+        boolean hasMore = positions.size() > limit;
+        List<ChangePosition> page = hasMore ? positions.subList(0, limit) : positions;
+        List<TaskRow> rows = findRows(page);
+
+        // A token from another (further ahead) replica keeps its position rather than going back
+        long removedUpTo = from != null ? Math.max(from.removedUpTo(), watermark) : watermark;
+        List<Long> removedIds = List.of();
+        if (from != null) {
+            // A task that came back into scope after its tombstone is reported as changed only
+            Set<Long> changedIds = page.stream().map(ChangePosition::id).collect(Collectors.toSet());
+            removedIds = (userId == null
+                    ? taskTombstoneRepository.findDeletedTaskIds(from.removedUpTo(), removedUpTo)
+                    : taskTombstoneRepository.findRemovedTaskIds(userId, from.removedUpTo(), removedUpTo))
+                    .stream()
+                    .filter(id -> !changedIds.contains(id))
+                    .toList();
+        }
+
+        SyncToken next;
+        if (hasMore) {
+            ChangePosition last = page.get(page.size() - 1);
+            next = new SyncToken(last.changeSeq(), last.id(), removedUpTo, now);
+        } else if (from != null && from.changeSeq() > watermark) {
+            next = new SyncToken(from.changeSeq(), from.id(), removedUpTo, now);
+        } else {
+            // Every row up to the watermark has been returned, so later calls can start right after it
+            next = new SyncToken(watermark, Long.MAX_VALUE, removedUpTo, now);
+        }
+        return new Delta(rows, removedIds, next.encode(), hasMore);
+    }
+
+    private List<TaskRow> findRows(List<ChangePosition> page) {
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = page.stream().map(ChangePosition::id).toList();
+        Map<Long, TaskRow> rowsById = taskRepository.findRows(TaskSpecifications.idIn(ids), Sort.unsorted(), ids.size())
+                .stream()
+                .collect(Collectors.toMap(TaskRow::id, row -> row));
+        // A task deleted since its position was read drops out here; its tombstone comes with a later sync
+        return ids.stream().map(rowsById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.sync.purge-interval}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = taskTombstoneRepository.deleteRemovedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Task properties selected with the {@code fields} query parameter. Decides both which columns are read
+ * and which properties of {@code TaskResponseDto} are written; {@code id} is always included.
+ */
+public record TaskFields(Set<String> names) {
+
+    public static final String DESCRIPTION = "description";
+    public static final String ASSIGNED_TO = "assignedTo";
+
+    private static final List<String> AVAILABLE = List.of(
+            "id", "title", DESCRIPTION, "status", "createdAt", "updatedAt", "version", ASSIGNED_TO);
+
+    public static final TaskFields ALL = new TaskFields(Set.copyOf(AVAILABLE));
+
+    public static TaskFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!AVAILABLE.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "', expected any of " + AVAILABLE);
+            }
+            names.add(name);
+        }
+        return names.size() == AVAILABLE.size() ? ALL : new TaskFields(Set.copyOf(names));
+    }
+
+    public boolean isAll() {
+        return names.size() == AVAILABLE.size();
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", AVAILABLE.stream().filter(names::contains).toList());
+    }
+}
@@ -0,0 +1,167 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.event.TaskChangeType;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over task titles and descriptions. Built from the database once the
+ * application is ready and kept current from committed task changes. Postings hold a term frequency
+ * in which title occurrences count more than description ones; hits are ranked by TF-IDF.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final TaskRepository taskRepository;
+
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedTask> tasks = new ConcurrentHashMap<>();
+
+    public record SearchResult(long total, List<Long> ids) {
+    }
+
+    private record IndexedTask(TaskStatus status, Long assigneeId, Set<String> terms) {
+    }
+
+    private record Hit(Long id, double score) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        try (Stream<TaskRow> rows = taskRepository.streamAllRows()) {
+            for (TaskRow row : (Iterable<TaskRow>) rows::iterator) {
+                index(row.id(), row.title(), row.description(), row.status(), row.assigneeId());
+            }
+        }
+        log.info("Search index built for {} tasks ({} terms) in {} ms",
+                tasks.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangeType.DELETED) {
+            remove(event.taskId());
+        } else {
+            TaskResponseDto task = event.task();
+            index(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), event.assigneeId());
+        }
+    }
+
+    public SearchResult search(String query, TaskStatus status, Long userId, int offset, int limit) {
+        Set<String> queryTerms = tokenize(query).keySet();
+        double taskCount = Math.max(tasks.size(), 1);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : queryTerms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings == null || termPostings.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1 + taskCount / termPostings.size());
+            for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                if (matchesFilters(posting.getKey(), status, userId)) {
+                    scores.merge(posting.getKey(), (1 + Math.log(posting.getValue())) * idf, Double::sum);
+                }
+            }
+        }
+
+        // Keep only the best offset + limit hits instead of sorting every match
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder());
+        int wanted = Math.addExact(offset, limit);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(wanted, Math.max(scores.size(), 1)) + 1, ranking);
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            top.offer(new Hit(score.getKey(), score.getValue()));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().id());
+        }
+        Collections.reverse(ids);
+        List<Long> page = offset >= ids.size() ? List.of() : ids.subList(offset, ids.size());
+        return new SearchResult(scores.size(), page);
+    }
+
+    private boolean matchesFilters(Long taskId, TaskStatus status, Long userId) {
+        if (status == null && userId == null) {
+            return true;
+        }
+        IndexedTask task = tasks.get(taskId);
+        return task != null
+                && (status == null || task.status() == status)
+                && (userId == null || task.assigneeId().equals(userId));
+    }
+
+    private synchronized void index(Long id, String title, String description, TaskStatus status, Long assigneeId) {
+        removeTerms(id);
+        Map<String, Integer> frequencies = tokenize(description);
+        tokenize(title).forEach((term, count) -> frequencies.merge(term, count * TITLE_WEIGHT, Integer::sum));
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, frequency));
+        tasks.put(id, new IndexedTask(status, assigneeId, frequencies.keySet()));
+    }
+
+    private synchronized void remove(Long id) {
+        removeTerms(id);
+    }
+
+    private void removeTerms(Long id) {
+        IndexedTask previous = tasks.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            postings.computeIfPresent(term, (key, termPostings) -> {
+                termPostings.remove(id);
+                return termPostings.isEmpty() ? null : termPostings;
+            });
+        }
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+}
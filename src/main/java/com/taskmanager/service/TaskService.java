@@ -1,72 +1,285 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.config.MetricsConfig;
 import com.taskmanager.dto.*;
+import com.taskmanager.event.TaskChangeType;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.ConflictException;
 import com.taskmanager.exception.ForbiddenException;
+import com.taskmanager.exception.PreconditionFailedException;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.model.Role;
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.User;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRow;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.repository.TaskState;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    // Ranking keeps offset + limit hits in memory, so deep search pages are capped
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+
     private final TaskRepository taskRepository;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatistics taskStatistics;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskDeltaSync taskDeltaSync;
+    private final MeterRegistry meterRegistry;
 
     public TaskResponseDto createTask(TaskRequestDto taskRequestDto) {
         log.info("Creating task: {}", taskRequestDto.getTitle());
         
-        User assignedUser = userService.findUserById(taskRequestDto.getAssignedToId());
+        UserResponseDto assignee = userService.findAssignee(taskRequestDto.getAssignedToId());
 
         Task task = new Task();
         task.setTitle(taskRequestDto.getTitle());
         task.setDescription(taskRequestDto.getDescription());
         task.setStatus(taskRequestDto.getStatus());
-        task.setAssignedTo(assignedUser);
+        task.setAssignedTo(userService.getUserReference(assignee.getId()));
 
-        Task savedTask = taskRepository.save(task);
+        Task savedTask = taskRepository.saveAndFlush(task);
         log.info("Task created successfully with ID: {}", savedTask.getId());
         
-        return mapToResponseDto(savedTask);
+        TaskResponseDto responseDto = mapToResponseDto(savedTask, assignee);
+        eventPublisher.publishEvent(TaskChangedEvent.created(responseDto));
+        return responseDto;
     }
 
-    @Transactional(readOnly = true)
-    public List<TaskResponseDto> getAllTasks(TaskStatus status, Long userId) {
-        log.info("Fetching tasks with filters - status: {}, userId: {}", status, userId);
+    public BulkResponseDto createTasks(List<TaskRequestDto> taskRequestDtos) {
+        log.info("Bulk creating {} tasks", taskRequestDtos.size());
         
-        List<Task> tasks;
-        if (status != null || userId != null) {
-            tasks = taskRepository.findTasksWithFilters(status, userId);
-        } else {
-            tasks = taskRepository.findAllWithUsers();
+        Set<Long> assigneeIds = taskRequestDtos.stream()
+                .map(TaskRequestDto::getAssignedToId)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = userService.findUsersByIds(assigneeIds);
+
+        BulkItemResultDto[] results = new BulkItemResultDto[taskRequestDtos.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
+        for (int i = 0; i < taskRequestDtos.size(); i++) {
+            TaskRequestDto taskRequestDto = taskRequestDtos.get(i);
+            User assignedUser = assignees.get(taskRequestDto.getAssignedToId());
+            if (assignedUser == null) {
+                results[i] = failure(i, HttpStatus.NOT_FOUND,
+                        "User not found with id: '" + taskRequestDto.getAssignedToId() + "'");
+                continue;
+            }
+
+            Task task = new Task();
+            task.setTitle(taskRequestDto.getTitle());
+            task.setDescription(taskRequestDto.getDescription());
+            task.setStatus(taskRequestDto.getStatus());
+            task.setAssignedTo(assignedUser);
+            tasks.add(task);
+            taskIndexes.add(i);
         }
+
+        // Sequence-generated ids let Hibernate group these inserts into JDBC batches
+        List<Task> savedTasks = taskRepository.saveAllAndFlush(tasks);
+        for (int i = 0; i < savedTasks.size(); i++) {
+            int index = taskIndexes.get(i);
+            TaskResponseDto responseDto = mapToResponseDto(savedTasks.get(i));
+            eventPublisher.publishEvent(TaskChangedEvent.created(responseDto));
+            results[index] = new BulkItemResultDto(index, HttpStatus.CREATED.value(), responseDto, null);
+        }
+        log.info("Bulk created {} of {} tasks", savedTasks.size(), taskRequestDtos.size());
         
-        return tasks.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        return toBulkResponse(results);
     }
 
     @Transactional(readOnly = true)
+    public TaskPageResponseDto getAllTasks(TaskStatus status, Long userId, String after, int limit, TaskFields fields) {
+        log.info("Fetching tasks with filters - status: {}, userId: {}, after: {}, limit: {}, fields: {}",
+                status, userId, after, limit, fields);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Specification<Task> specification = TaskSpecifications.withFilters(status, userId);
+        if (after != null) {
+            TaskCursor cursor = TaskCursor.decode(after);
+            specification = specification.and(TaskSpecifications.createdAfter(cursor.timestamp(), cursor.id()));
+        }
+        // Fetch one extra row to find out whether another page exists
+        List<TaskRow> rows = taskRepository.findRows(specification, TaskSpecifications.KEYSET_ORDER, limit + 1,
+                fields.includes(TaskFields.DESCRIPTION), fields.includes(TaskFields.ASSIGNED_TO));
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            TaskRow last = rows.get(limit - 1);
+            nextCursor = new TaskCursor(last.createdAt(), last.id()).encode();
+        }
+        
+        List<TaskResponseDto> items = timeMapping("page", () -> rows.stream()
+                .limit(limit)
+                .map(TaskService::mapToResponseDto)
+                .collect(Collectors.toList()));
+        return new TaskPageResponseDto(items, nextCursor);
+    }
+
+    // Not read-only: a miss is loaded from the primary. A lagging replica could return the version a writer just
+    // replaced, after the writer's eviction, and that would stay cached for the full TTL
+    @Transactional
     public TaskResponseDto getTaskById(Long id) {
         log.info("Fetching task with ID: {}", id);
-        Task task = taskRepository.findByIdWithUser(id)
+        return taskCache.get(id, () -> taskRepository.findByIdWithUser(id)
+                .map(TaskService::mapToResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id)));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponseDto getTaskById(Long id, TaskFields fields) {
+        log.info("Fetching task with ID: {}, fields: {}", id, fields);
+        // A cached full task answers any field selection; otherwise only the selected columns are read
+        TaskResponseDto cached = taskCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return taskRepository.findRows(TaskSpecifications.idIn(List.of(id)), Sort.unsorted(), 1,
+                        fields.includes(TaskFields.DESCRIPTION), fields.includes(TaskFields.ASSIGNED_TO)).stream()
+                .findFirst()
+                .map(TaskService::mapToResponseDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
-        return mapToResponseDto(task);
     }
 
-    public TaskResponseDto updateTask(Long id, TaskUpdateDto taskUpdateDto, Long currentUserId, Role currentUserRole) {
+    @Transactional(readOnly = true)
+    public TaskSearchResponseDto searchTasks(String query, TaskStatus status, Long userId, int offset, int limit) {
+        log.info("Searching tasks - query: {}, status: {}, userId: {}, offset: {}, limit: {}", query, status, userId, offset, limit);
+        
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        TaskSearchIndex.SearchResult result = taskSearchIndex.search(query, status, userId, offset, limit);
+        if (result.ids().isEmpty()) {
+            return new TaskSearchResponseDto(result.total(), List.of());
+        }
+        Map<Long, TaskRow> rowsById = taskRepository.findRows(
+                        TaskSpecifications.idIn(result.ids()), Sort.unsorted(), result.ids().size()).stream()
+                .collect(Collectors.toMap(TaskRow::id, row -> row));
+        List<TaskResponseDto> items = timeMapping("search", () -> result.ids().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .map(TaskService::mapToResponseDto)
+                .collect(Collectors.toList()));
+        return new TaskSearchResponseDto(result.total(), items);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponseDto getTaskChanges(String since, Long userId, int limit) {
+        log.info("Fetching task changes - since: {}, userId: {}, limit: {}", since, userId, limit);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        TaskDeltaSync.Delta delta = taskDeltaSync.changesSince(since, userId, limit);
+        List<TaskResponseDto> changed = timeMapping("changes", () -> delta.rows().stream()
+                .map(TaskService::mapToResponseDto)
+                .collect(Collectors.toList()));
+        return new TaskChangesResponseDto(changed, delta.removedIds(), delta.nextToken(), delta.hasMore());
+    }
+
+    // A snapshot of the counters TaskStatistics keeps from committed changes: no query runs, so SUPPORTS
+    // rather than a read-only transaction, which would still take a pooled connection for every call
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TaskStatsResponseDto getTaskStatistics() {
+        return taskStatistics.snapshot();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SseEmitter subscribeToChanges(TaskStatus status, Long userId, Long lastEventId) {
+        return taskChangeFeed.subscribe(status, userId, lastEventId);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTasksETag(TaskStatus status, Long userId, String after, int limit, TaskFields fields) {
+        // The change clock moves on every committed task change: a one-row read instead of aggregating the filtered
+        // set, at the price of any change, even outside this filter, changing the tag
+        long changeSeq = taskRepository.currentChangeSeq();
+        return ETags.of("tasks", status, userId, after, limit, fields, changeSeq);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTaskETag(Long id, TaskFields fields) {
+        return taskRepository.findVersionById(id)
+                .map(version -> ETags.forTask(id, version, fields))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream outputStream) throws IOException {
+        log.info("Exporting all tasks as NDJSON");
+        
+        ObjectWriter writer = objectMapper.writerFor(TaskResponseDto.class);
+        BufferedOutputStream out = new BufferedOutputStream(outputStream);
+        long count = 0;
+        // Rows are projections, not entities, so the persistence context stays empty however large the table
+        try (Stream<TaskRow> rows = taskRepository.streamAllRows()) {
+            for (TaskRow row : (Iterable<TaskRow>) rows::iterator) {
+                out.write(writer.writeValueAsBytes(mapToResponseDto(row)));
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        
+        log.info("Exported {} tasks", count);
+        return count;
+    }
+
+    public TaskResponseDto updateTask(Long id, TaskUpdateDto taskUpdateDto, Long currentUserId, Role currentUserRole,
+                                      String ifMatch) {
         log.info("Updating task with ID: {}", id);
         
         Task task = taskRepository.findByIdWithUser(id)
@@ -76,6 +289,9 @@ public class TaskService {
         if (currentUserRole != Role.ADMIN && !task.getAssignedTo().getId().equals(currentUserId)) {
             throw new ForbiddenException("You can only update tasks assigned to you");
         }
+        checkIfMatch(ifMatch, id, task.getVersion());
+        TaskStatus previousStatus = task.getStatus();
+        Long previousAssigneeId = task.getAssignedTo().getId();
 
         if (taskUpdateDto.getTitle() != null) {
             task.setTitle(taskUpdateDto.getTitle());
@@ -83,33 +299,92 @@ public class TaskService {
         if (taskUpdateDto.getDescription() != null) {
             task.setDescription(taskUpdateDto.getDescription());
         }
+        UserResponseDto newAssignee = null;
         if (taskUpdateDto.getAssignedToId() != null) {
-            User newAssignedUser = userService.findUserById(taskUpdateDto.getAssignedToId());
-            task.setAssignedTo(newAssignedUser);
+            newAssignee = userService.findAssignee(taskUpdateDto.getAssignedToId());
+            task.setAssignedTo(userService.getUserReference(newAssignee.getId()));
         }
 
-        Task updatedTask = taskRepository.save(task);
+        // Flushing runs the version check now and puts the new version into the response
+        Task updatedTask = taskRepository.saveAndFlush(task);
         log.info("Task updated successfully with ID: {}", updatedTask.getId());
         
-        return mapToResponseDto(updatedTask);
+        TaskResponseDto responseDto = newAssignee != null
+                ? mapToResponseDto(updatedTask, newAssignee)
+                : mapToResponseDto(updatedTask);
+        eventPublisher.publishEvent(
+                TaskChangedEvent.updated(TaskChangeType.UPDATED, previousStatus, previousAssigneeId, responseDto));
+        return responseDto;
     }
 
-    public TaskResponseDto updateTaskStatus(Long id, TaskStatusUpdateDto statusUpdateDto, Long currentUserId, Role currentUserRole) {
+    public TaskResponseDto updateTaskStatus(Long id, TaskStatusUpdateDto statusUpdateDto, Long currentUserId,
+                                            Role currentUserRole, String ifMatch) {
         log.info("Updating task status with ID: {}", id);
         
-        Task task = taskRepository.findByIdWithUser(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        // Compare-and-set on the version column; without If-Match a lost race is retried against the new version
+        for (int attempt = 1; attempt <= MAX_STATUS_UPDATE_ATTEMPTS; attempt++) {
+            TaskState state = taskRepository.findStateById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
 
-        // Check permissions: only ADMIN or assigned user can update status
-        if (currentUserRole != Role.ADMIN && !task.getAssignedTo().getId().equals(currentUserId)) {
-            throw new ForbiddenException("You can only update status of tasks assigned to you");
+            // Check permissions: only ADMIN or assigned user can update status
+            if (currentUserRole != Role.ADMIN && !state.assigneeId().equals(currentUserId)) {
+                throw new ForbiddenException("You can only update status of tasks assigned to you");
+            }
+            checkIfMatch(ifMatch, id, state.version());
+
+            int updated = taskRepository.updateStatusIfVersion(
+                    id, statusUpdateDto.getStatus(), LocalDateTime.now(), state.version());
+            if (updated == 1) {
+                log.info("Task status updated successfully for ID: {}", id);
+                Task updatedTask = taskRepository.findByIdWithUser(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+                TaskResponseDto responseDto = mapToResponseDto(updatedTask);
+                eventPublisher.publishEvent(TaskChangedEvent.updated(
+                        TaskChangeType.STATUS_CHANGED, state.status(), state.assigneeId(), responseDto));
+                return responseDto;
+            }
         }
+        throw new ConflictException("Task was modified concurrently, please retry");
+    }
+
+    public BulkResponseDto updateTaskStatuses(List<TaskStatusBulkItemDto> updates, Long currentUserId, Role currentUserRole) {
+        log.info("Bulk updating status of {} tasks", updates.size());
+        
+        Set<Long> ids = updates.stream()
+                .map(TaskStatusBulkItemDto::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasksById = taskRepository.findAllByIdWithUser(ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
 
-        task.setStatus(statusUpdateDto.getStatus());
-        Task updatedTask = taskRepository.save(task);
-        log.info("Task status updated successfully for ID: {}", updatedTask.getId());
+        BulkItemResultDto[] results = new BulkItemResultDto[updates.size()];
+        List<Integer> updatedIndexes = new ArrayList<>();
+        TaskStatus[] previousStatuses = new TaskStatus[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            TaskStatusBulkItemDto update = updates.get(i);
+            Task task = tasksById.get(update.getId());
+            if (task == null) {
+                results[i] = failure(i, HttpStatus.NOT_FOUND, "Task not found with id: '" + update.getId() + "'");
+            } else if (currentUserRole != Role.ADMIN && !task.getAssignedTo().getId().equals(currentUserId)) {
+                results[i] = failure(i, HttpStatus.FORBIDDEN, "You can only update status of tasks assigned to you");
+            } else {
+                previousStatuses[i] = task.getStatus();
+                task.setStatus(update.getStatus());
+                updatedIndexes.add(i);
+            }
+        }
+
+        // Flush the dirty tasks as batched UPDATEs so the returned updatedAt values are current
+        taskRepository.flush();
+        for (int index : updatedIndexes) {
+            Task task = tasksById.get(updates.get(index).getId());
+            TaskResponseDto responseDto = mapToResponseDto(task);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(
+                    TaskChangeType.STATUS_CHANGED, previousStatuses[index], task.getAssignedTo().getId(), responseDto));
+            results[index] = new BulkItemResultDto(index, HttpStatus.OK.value(), responseDto, null);
+        }
+        log.info("Bulk updated status of {} of {} tasks", updatedIndexes.size(), updates.size());
         
-        return mapToResponseDto(updatedTask);
+        return toBulkResponse(results);
     }
 
     public void deleteTask(Long id, Role currentUserRole) {
@@ -123,17 +398,74 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
 
         taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, task.getStatus(), task.getAssignedTo().getId()));
         log.info("Task deleted successfully with ID: {}", id);
     }
 
-    private TaskResponseDto mapToResponseDto(Task task) {
+    private void checkIfMatch(String ifMatch, Long id, Long currentVersion) {
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.forTask(id, currentVersion))) {
+            throw new PreconditionFailedException("Task has been modified since the given ETag");
+        }
+    }
+
+    private <T> T timeMapping(String operation, Supplier<T> mapping) {
+        return Timer.builder(MetricsConfig.MAPPING_TIMER)
+                .description("Time spent mapping entities to response DTOs")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(mapping);
+    }
+
+    private BulkItemResultDto failure(int index, HttpStatus status, String error) {
+        return new BulkItemResultDto(index, status.value(), null, error);
+    }
+
+    private BulkResponseDto toBulkResponse(BulkItemResultDto[] results) {
+        int succeeded = 0;
+        for (BulkItemResultDto result : results) {
+            if (result.getError() == null) {
+                succeeded++;
+            }
+        }
+        return new BulkResponseDto(succeeded, results.length - succeeded, List.of(results));
+    }
+
+    static TaskResponseDto mapToResponseDto(TaskRow row) {
         TaskResponseDto dto = new TaskResponseDto();
-        dto.setId(task.getId());
-        dto.setTitle(task.getTitle());
-        dto.setDescription(task.getDescription());
-        dto.setStatus(task.getStatus());
-        dto.setCreatedAt(task.getCreatedAt());
-        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setId(row.id());
+        dto.setTitle(row.title());
+        dto.setDescription(row.description());
+        dto.setStatus(row.status());
+        dto.setCreatedAt(row.createdAt());
+        dto.setUpdatedAt(row.updatedAt());
+        dto.setVersion(row.version());
+        
+        UserResponseDto userDto = new UserResponseDto();
+        userDto.setId(row.assigneeId());
+        userDto.setName(row.assigneeName());
+        userDto.setEmail(row.assigneeEmail());
+        userDto.setRole(row.assigneeRole());
+        dto.setAssignedTo(userDto);
+        
+        return dto;
+    }
+
+    // The assignee columns come from the (cached) DTO, so an assignee set by reference is never loaded
+    static TaskResponseDto mapToResponseDto(Task task, UserResponseDto assignee) {
+        TaskResponseDto dto = mapTaskColumns(task);
+        
+        UserResponseDto userDto = new UserResponseDto();
+        userDto.setId(assignee.getId());
+        userDto.setName(assignee.getName());
+        userDto.setEmail(assignee.getEmail());
+        userDto.setRole(assignee.getRole());
+        dto.setAssignedTo(userDto);
+        
+        return dto;
+    }
+
+    static TaskResponseDto mapToResponseDto(Task task) {
+        TaskResponseDto dto = mapTaskColumns(task);
         
         if (task.getAssignedTo() != null) {
             UserResponseDto userDto = new UserResponseDto();
@@ -146,4 +478,16 @@ public class TaskService {
         
         return dto;
     }
+
+    private static TaskResponseDto mapTaskColumns(Task task) {
+        TaskResponseDto dto = new TaskResponseDto();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(task.getStatus());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setVersion(task.getVersion());
+        return dto;
+    }
 }
@@ -0,0 +1,95 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskStatsResponseDto;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.repository.TaskCount;
+import com.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory task counts per assignee and status. Seeded from a GROUP BY query once the application is
+ * ready, adjusted from committed task changes, and periodically rebuilt from the database so that any
+ * drift (missed or racing increments, out-of-band writes) is corrected.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatistics {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+
+    private volatile ConcurrentMap<Long, AtomicLongArray> countsByAssignee = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${taskmanager.stats.reconcile-interval}",
+            initialDelayString = "${taskmanager.stats.reconcile-interval}")
+    public void reconcile() {
+        ConcurrentMap<Long, AtomicLongArray> counts = new ConcurrentHashMap<>();
+        for (TaskCount taskCount : taskRepository.countByAssigneeAndStatus()) {
+            counts.computeIfAbsent(taskCount.assigneeId(), id -> new AtomicLongArray(STATUSES.length))
+                    .set(taskCount.status().ordinal(), taskCount.count());
+        }
+        countsByAssignee = counts;
+        log.debug("Task statistics reconciled for {} assignees", counts.size());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.previousStatus() != null) {
+            add(event.previousAssigneeId(), event.previousStatus(), -1);
+        }
+        if (event.status() != null) {
+            add(event.assigneeId(), event.status(), 1);
+        }
+    }
+
+    public TaskStatsResponseDto snapshot() {
+        long total = 0;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Long, Long> byAssignee = new TreeMap<>();
+        Map<Long, Map<TaskStatus, Long>> byAssigneeAndStatus = new TreeMap<>();
+        for (TaskStatus status : STATUSES) {
+            byStatus.put(status, 0L);
+        }
+
+        for (Map.Entry<Long, AtomicLongArray> entry : countsByAssignee.entrySet()) {
+            long assigneeTotal = 0;
+            Map<TaskStatus, Long> assigneeByStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : STATUSES) {
+                long count = entry.getValue().get(status.ordinal());
+                if (count > 0) {
+                    assigneeByStatus.put(status, count);
+                    byStatus.merge(status, count, Long::sum);
+                    assigneeTotal += count;
+                }
+            }
+            if (assigneeTotal > 0) {
+                byAssignee.put(entry.getKey(), assigneeTotal);
+                byAssigneeAndStatus.put(entry.getKey(), assigneeByStatus);
+                total += assigneeTotal;
+            }
+        }
+        return new TaskStatsResponseDto(total, byStatus, byAssignee, byAssigneeAndStatus);
+    }
+
+    private void add(Long assigneeId, TaskStatus status, long delta) {
+        countsByAssignee.computeIfAbsent(assigneeId, id -> new AtomicLongArray(STATUSES.length))
+                .addAndGet(status.ordinal(), delta);
+    }
+}
@@ -1,26 +1,36 @@
 package com.taskmanager.service;
 
+import com.taskmanager.config.CacheConfig;
+import com.taskmanager.config.MetricsConfig;
 import com.taskmanager.dto.UserRequestDto;
 import com.taskmanager.dto.UserResponseDto;
 import com.taskmanager.exception.BadRequestException;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.model.User;
+import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
 
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
 
     public UserResponseDto createUser(UserRequestDto userRequestDto) {
         log.info("Creating user with email: {}", userRequestDto.getEmail());
@@ -43,33 +53,48 @@ public class UserService {
     @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers() {
         log.info("Fetching all users");
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        return userRepository.findAllWithTaskCount();
+    }
+
+    @Transactional(readOnly = true)
+    public String getUsersETag() {
+        // Task counts are part of each user, so any task change must change the tag too
+        return ETags.of("users", userRepository.count(), taskRepository.currentChangeSeq());
     }
 
     @Transactional(readOnly = true)
     public UserResponseDto getUserById(Long id) {
         log.info("Fetching user with ID: {}", id);
-        User user = userRepository.findById(id)
+        return userRepository.findByIdWithTaskCount(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        return mapToResponseDto(user);
     }
 
+    // Cached as a DTO: entities are bound to the persistence context that loaded them and must not be shared
     @Transactional(readOnly = true)
-    public User findUserById(Long id) {
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserResponseDto findAssignee(Long id) {
         return userRepository.findById(id)
+                .map(UserService::mapToResponseDto)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
-    private UserResponseDto mapToResponseDto(User user) {
+    // An unloaded proxy for the caller's persistence context, enough to set a foreign key; check it exists first
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, User> findUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    static UserResponseDto mapToResponseDto(User user) {
         UserResponseDto dto = new UserResponseDto();
         dto.setId(user.getId());
         dto.setName(user.getName());
         dto.setEmail(user.getEmail());
         dto.setRole(user.getRole());
-        dto.setTaskCount(user.getTasks() != null ? user.getTasks().size() : 0);
         return dto;
     }
 }
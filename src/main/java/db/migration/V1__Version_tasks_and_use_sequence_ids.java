@@ -0,0 +1,55 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves tasks from identity ids to the pooled tasks_seq (so inserts can be batched) and adds the optimistic
+ * locking version column. Written in Java because the sequence has to start above the ids already handed out
+ * by the identity column, which neither PostgreSQL nor H2 accept as an expression in CREATE SEQUENCE.
+ */
+public class V1__Version_tasks_and_use_sequence_ids extends BaseJavaMigration {
+
+    // Must match allocationSize on Task: Hibernate's pooled optimizer hands out the block ending at each value
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table tasks add column if not exists version bigint default 0 not null");
+
+            if (isIdentity(connection, "tasks", "id")) {
+                statement.execute("alter table tasks alter column id drop identity");
+            }
+
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from tasks")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            statement.execute("create sequence if not exists tasks_seq start with " + (maxId + ALLOCATION_SIZE)
+                    + " increment by " + ALLOCATION_SIZE);
+            // A pre-release build's ddl-auto=update may already have created tasks_seq, starting at 1
+            statement.execute("alter sequence tasks_seq restart with " + (maxId + ALLOCATION_SIZE)
+                    + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+
+    private static boolean isIdentity(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        if (metaData.storesUpperCaseIdentifiers()) {
+            table = table.toUpperCase();
+            column = column.toUpperCase();
+        }
+        try (ResultSet rs = metaData.getColumns(null, connection.getSchema(), table, column)) {
+            return rs.next() && "YES".equals(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Kept to SQL that PostgreSQL (prod) and H2 (local, tests, benchmarks) both accept
+-- The schema of the first release, as ddl-auto=update created it; existing databases are baselined here
+
+create table users (
+    id bigint generated by default as identity primary key,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN', 'USER'))
+);
+
+create table tasks (
+    id bigint generated by default as identity primary key,
+    title varchar(255) not null,
+    description text,
+    status varchar(255) not null check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    assigned_to bigint not null,
+    constraint fk_tasks_assigned_to foreign key (assigned_to) references users (id)
+);
@@ -0,0 +1,5 @@
+-- Keyset pagination and filter indexes (every list is ordered by created_at, id)
+
+create index if not exists idx_tasks_created_at on tasks (created_at, id);
+create index if not exists idx_tasks_status_created_at on tasks (status, created_at, id);
+create index if not exists idx_tasks_assignee_status_created_at on tasks (assigned_to, status, created_at, id);
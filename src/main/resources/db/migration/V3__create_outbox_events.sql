@@ -0,0 +1,17 @@
+-- "if not exists" because databases baselined at V0 by a pre-release build may already have this from ddl-auto=update
+
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+
+create table if not exists outbox_events (
+    id bigint not null primary key,
+    event_type varchar(255) not null check (event_type in ('CREATED', 'UPDATED', 'STATUS_CHANGED', 'DELETED')),
+    task_id bigint not null,
+    payload text not null,
+    status varchar(255) not null check (status in ('PENDING', 'FAILED')),
+    attempts integer not null,
+    last_error varchar(255),
+    created_at timestamp(6) not null,
+    available_at timestamp(6) not null
+);
+
+create index if not exists idx_outbox_events_status_available_at on outbox_events (status, available_at, id);
@@ -0,0 +1,36 @@
+-- Delta sync: a change sequence stamped on tasks and tombstones at commit, and tombstones for removed tasks
+-- "if not exists" because databases baselined at V0 by a pre-release build may already have the tombstone
+-- table, its sequence and some of these indexes from ddl-auto=update
+
+-- Single row, locked by every writing transaction just before it commits, so change_seq values
+-- become visible in the order they were handed out
+create table task_sync_clock (
+    id integer not null primary key,
+    change_seq bigint not null
+);
+
+insert into task_sync_clock (id, change_seq) values (1, 0);
+
+-- Tasks written before this migration have change_seq 0 and are picked up by the first full sync
+alter table tasks add column if not exists change_seq bigint default 0 not null;
+
+create index if not exists idx_tasks_change_seq on tasks (change_seq, id);
+create index if not exists idx_tasks_assignee_change_seq on tasks (assigned_to, change_seq, id);
+
+create sequence if not exists task_tombstones_seq start with 1 increment by 50;
+
+create table if not exists task_tombstones (
+    id bigint not null primary key,
+    task_id bigint not null,
+    user_id bigint not null,
+    reason varchar(255) not null check (reason in ('DELETED', 'REASSIGNED')),
+    change_seq bigint not null,
+    removed_at timestamp(6) not null
+);
+
+-- Pre-release tombstone tables have no change_seq; their rows are older than any token a client can hold
+alter table task_tombstones add column if not exists change_seq bigint default 0 not null;
+
+create index if not exists idx_task_tombstones_change_seq on task_tombstones (change_seq);
+create index if not exists idx_task_tombstones_user_change_seq on task_tombstones (user_id, change_seq);
+create index if not exists idx_task_tombstones_removed_at on task_tombstones (removed_at);
@@ -0,0 +1,3 @@
+-- A userId-only list is ordered by (created_at, id) within one assignee; the status index cannot serve that order
+
+create index if not exists idx_tasks_assignee_created_at on tasks (assigned_to, created_at, id);
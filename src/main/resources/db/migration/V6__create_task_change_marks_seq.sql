@@ -0,0 +1,4 @@
+-- Marks a writing transaction's task and tombstone rows until it takes its change_seq, as the last step before
+-- commit; rows hold the negated value, so a mark never collides with a change_seq
+
+create sequence if not exists task_change_marks_seq start with 1 increment by 1;
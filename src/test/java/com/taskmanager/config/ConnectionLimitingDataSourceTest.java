@@ -0,0 +1,124 @@
+package com.taskmanager.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every way a connection handed out by the limiter can end must give its permit back exactly once.
+ */
+class ConnectionLimitingDataSourceTest {
+
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(200);
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void closeReleasesThePermit() throws SQLException {
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(h2, 1, ACQUIRE_TIMEOUT);
+
+        limiter.getConnection().close();
+
+        try (Connection connection = limiter.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void exhaustedLimitTimesOut() throws SQLException {
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(h2, 1, ACQUIRE_TIMEOUT);
+
+        try (Connection ignored = limiter.getConnection()) {
+            assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+
+    @Test
+    void closingTwiceReleasesOnlyOnePermit() throws SQLException {
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(h2, 2, ACQUIRE_TIMEOUT);
+
+        Connection connection = limiter.getConnection();
+        connection.close();
+        connection.close();
+
+        try (Connection first = limiter.getConnection(); Connection second = limiter.getConnection()) {
+            assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+
+    @Test
+    void waiterGetsThePermitOnceTheHolderCloses() throws Exception {
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(h2, 1, Duration.ofSeconds(5));
+        Connection holder = limiter.getConnection();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = limiter.getConnection()) {
+                return connection.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> limiter.getWaitingCount() == 1);
+        holder.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void failedGetConnectionReleasesThePermit() throws SQLException {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("database is down"));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(failing, 1, ACQUIRE_TIMEOUT);
+
+        // Both fail with the target's error; a leaked permit would make the second one time out instead
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(limiter::getConnection).hasMessage("database is down");
+        }
+    }
+
+    @Test
+    void failedCloseStillReleasesThePermit() throws SQLException {
+        Connection broken = mock(Connection.class);
+        doThrow(new SQLException("connection reset")).when(broken).close();
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(broken);
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, ACQUIRE_TIMEOUT);
+
+        assertThatThrownBy(() -> limiter.getConnection().close()).hasMessage("connection reset");
+
+        assertThat(limiter.getConnection()).isNotNull();
+    }
+
+    @Test
+    void proxyKeepsItsOwnIdentity() throws SQLException {
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(h2, 2, ACQUIRE_TIMEOUT);
+
+        try (Connection connection = limiter.getConnection(); Connection other = limiter.getConnection()) {
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(other);
+            assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the task list queries Hibernate generates for every filter combination against the migrated
+ * schema on a seeded H2 database, and checks which index reads the tasks table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.taskmanager.repository.TaskQueryPlanTest$LastStatement")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskQueryPlanTest {
+
+    private static final int USERS = 100;
+    private static final int TASKS = 10_000;
+    private static final Pattern TASKS_ACCESS = Pattern.compile("\"PUBLIC\"\\.\"TASKS\" \"T1_0\"\\s+/\\* PUBLIC\\.(\\w+)");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into users (id, name, email, role) "
+                + "select x, 'User ' || x, 'user' || x || '@example.com', 'USER' from system_range(1, " + USERS + ")");
+        jdbcTemplate.update("insert into tasks (id, title, status, created_at, assigned_to) "
+                + "select x, 'Task ' || x, case mod(x, 3) when 0 then 'PENDING' when 1 then 'IN_PROGRESS' else 'COMPLETED' end, "
+                + "timestamp '2024-01-01 00:00:00' + x * interval '1' minute, 1 + mod(x, " + USERS + ") "
+                + "from system_range(1, " + TASKS + ")");
+        // Selectivity statistics, without which H2 costs every index alike
+        jdbcTemplate.execute("analyze");
+    }
+
+    static Stream<Arguments> nextPages() {
+        return Stream.of(
+                Arguments.of(null, null, false, "IDX_TASKS_CREATED_AT"),
+                Arguments.of(TaskStatus.PENDING, null, false, "IDX_TASKS_STATUS_CREATED_AT"),
+                Arguments.of(TaskStatus.PENDING, null, true, "IDX_TASKS_STATUS_CREATED_AT"),
+                Arguments.of(null, 2L, false, "IDX_TASKS_ASSIGNEE_CREATED_AT"),
+                Arguments.of(null, 2L, true, "IDX_TASKS_ASSIGNEE_CREATED_AT"),
+                Arguments.of(TaskStatus.PENDING, 2L, false, "IDX_TASKS_ASSIGNEE_STATUS_CREATED_AT"),
+                Arguments.of(TaskStatus.PENDING, 2L, true, "IDX_TASKS_ASSIGNEE_STATUS_CREATED_AT"));
+    }
+
+    // Every page after the first adds the keyset condition; H2 drives an unfiltered join from users, so that one is left out
+    @ParameterizedTest(name = "status={0}, userId={1}, withAssignee={2}")
+    @MethodSource("nextPages")
+    void nextPageReadsTheIndexOfItsFilter(TaskStatus status, Long userId, boolean withAssignee, String index) {
+        Specification<Task> nextPage = TaskSpecifications.withFilters(status, userId)
+                .and(TaskSpecifications.createdAfter(LocalDateTime.of(2024, 1, 2, 0, 0), 1440L));
+
+        assertThat(tasksAccess(explain(nextPage, withAssignee))).isEqualTo(index);
+    }
+
+    static Stream<Arguments> firstPages() {
+        return Stream.of(TaskStatus.PENDING, null).flatMap(status -> Stream.of(2L, null).flatMap(userId ->
+                Stream.of(true, false).map(withAssignee -> Arguments.of(status, userId, withAssignee))));
+    }
+
+    // Without the keyset condition H2 may also pick its own single-column index behind the assigned_to foreign key
+    @ParameterizedTest(name = "status={0}, userId={1}, withAssignee={2}")
+    @MethodSource("firstPages")
+    void firstPageNeverScansTasks(TaskStatus status, Long userId, boolean withAssignee) {
+        String plan = explain(TaskSpecifications.withFilters(status, userId), withAssignee);
+
+        assertThat(plan).doesNotContain("PUBLIC.TASKS.tableScan");
+    }
+
+    private String explain(Specification<Task> specification, boolean withAssignee) {
+        taskRepository.findRows(specification, TaskSpecifications.KEYSET_ORDER, 51, true, withAssignee);
+        String sql = LastStatement.SQL.get();
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : "");
+    }
+
+    private static String tasksAccess(String plan) {
+        Matcher matcher = TASKS_ACCESS.matcher(plan);
+        assertThat(matcher.find()).as(plan).isTrue();
+        return matcher.group(1);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static final ThreadLocal<String> SQL = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.set(sql);
+            return sql;
+        }
+    }
+}
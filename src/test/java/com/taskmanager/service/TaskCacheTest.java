@@ -0,0 +1,113 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.CacheConfig;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.dto.UserResponseDto;
+import com.taskmanager.event.TaskChangeType;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Interleaves a cache miss's load with a writer's post-commit event, the way a read racing a write does.
+ */
+class TaskCacheTest {
+
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        // Wrapped like in CacheConfig, so puts and evictions go through the unwrapped target cache
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CacheConfig.TASKS_CACHE);
+        taskCache = new TaskCache(new TransactionAwareCacheManagerProxy(caffeineCacheManager));
+    }
+
+    @Test
+    void writerCommittingDuringTheLoadEvictsTheLoadedTask() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        CompletableFuture<TaskResponseDto> read = CompletableFuture.supplyAsync(() -> taskCache.get(1L, () -> {
+            loading.countDown();
+            await(committed);
+            return task(1L, 0L);
+        }));
+        await(loading);
+        // The writer commits after the reader loaded version 0 but before the reader puts it
+        taskCache.onTaskChanged(statusChanged(1L, 1L));
+        committed.countDown();
+
+        assertThat(read.get(5, TimeUnit.SECONDS).getVersion()).isZero();
+        assertThat(taskCache.get(1L)).isNull();
+        assertThat(taskCache.get(1L, () -> task(1L, 1L)).getVersion()).isEqualTo(1L);
+        assertThat(taskCache.get(1L).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void writerCommittingAfterThePutEvictsTheTask() {
+        taskCache.get(1L, () -> task(1L, 0L));
+
+        taskCache.onTaskChanged(statusChanged(1L, 1L));
+
+        assertThat(taskCache.get(1L)).isNull();
+    }
+
+    @Test
+    void loadWithoutConcurrentWriteStaysCached() {
+        taskCache.get(1L, () -> task(1L, 0L));
+
+        assertThat(taskCache.get(1L, () -> task(1L, 1L)).getVersion()).isZero();
+    }
+
+    @Test
+    void writeToAnotherTaskDuringTheLoadKeepsTheLoadedTask() {
+        taskCache.get(1L, () -> {
+            taskCache.onTaskChanged(statusChanged(2L, 1L));
+            return task(1L, 0L);
+        });
+
+        assertThat(taskCache.get(1L).getVersion()).isZero();
+    }
+
+    @Test
+    void deletionEvictsTheTask() {
+        taskCache.get(1L, () -> task(1L, 0L));
+
+        taskCache.onTaskChanged(TaskChangedEvent.deleted(1L, TaskStatus.PENDING, 1L));
+
+        assertThat(taskCache.get(1L)).isNull();
+    }
+
+    private static TaskChangedEvent statusChanged(Long id, Long version) {
+        return TaskChangedEvent.updated(TaskChangeType.STATUS_CHANGED, TaskStatus.PENDING, null,
+                task(id, version));
+    }
+
+    private static TaskResponseDto task(Long id, Long version) {
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setVersion(version);
+        task.setAssignedTo(new UserResponseDto());
+        return task;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskmanager.service;
+
+import com.taskmanager.controller.TaskController;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Subscribes through GET /tasks/stream and reads the SSE events each subscriber is sent, for resumes inside
+ * and outside the replay window and for backlogs that overflow the subscriber's queue.
+ */
+class TaskChangeFeedTest {
+
+    private static final String RESYNC = TaskChangeFeed.RESYNC_EVENT;
+
+    private TaskChangeFeed feed;
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void resumeInsideTheReplayWindowReplaysTheMissedChanges() throws Exception {
+        startFeed(16, 8);
+        publish(3);
+
+        MockHttpServletResponse response = subscribe(get("/tasks/stream").header("Last-Event-ID", "1"));
+
+        awaitEvents(response, "2", "3");
+        publish(1);
+        awaitEvents(response, "2", "3", "4");
+    }
+
+    @Test
+    void backlogBeyondTheQueueIsDroppedForAResync() throws Exception {
+        startFeed(16, 2);
+        publish(5);
+
+        MockHttpServletResponse response = subscribe(get("/tasks/stream").header("Last-Event-ID", "0"));
+
+        // Events 1-2 filled the queue, 3 overflowed it and cleared it, and 4-5 were queued after the resync
+        awaitEvents(response, RESYNC, "4", "5");
+    }
+
+    @Test
+    void resumeFromBeforeTheReplayWindowGetsAResync() throws Exception {
+        startFeed(4, 8);
+        publish(10);
+
+        MockHttpServletResponse response = subscribe(get("/tasks/stream").header("Last-Event-ID", "2"));
+
+        awaitEvents(response, RESYNC);
+        publish(1);
+        awaitEvents(response, RESYNC, "11");
+    }
+
+    @Test
+    void resumeFromAheadOfTheFeedGetsAResync() throws Exception {
+        // A client reconnecting after a restart holds an id the new feed has not reached
+        startFeed(16, 8);
+        publish(2);
+
+        MockHttpServletResponse response = subscribe(get("/tasks/stream").header("Last-Event-ID", "50"));
+
+        awaitEvents(response, RESYNC);
+    }
+
+    @Test
+    void filteredSubscriberOnlyQueuesMatchingChanges() throws Exception {
+        startFeed(16, 2);
+
+        MockHttpServletResponse response = subscribe(get("/tasks/stream").param("userId", "1"));
+        for (long taskId = 1; taskId <= 6; taskId++) {
+            feed.onTaskChanged(TaskChangedEvent.deleted(taskId, TaskStatus.PENDING, taskId == 6 ? 1L : 2L));
+        }
+
+        // Five changes for another user did not count against the queue
+        awaitEvents(response, "6");
+    }
+
+    private void startFeed(int replaySize, int bufferSize) {
+        feed = new TaskChangeFeed(replaySize, bufferSize, Duration.ofMinutes(1), 1, Duration.ofSeconds(10));
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.subscribeToChanges(any(), any(), any())).thenAnswer(invocation ->
+                feed.subscribe(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService)).build();
+    }
+
+    private void publish(int changes) {
+        for (int i = 0; i < changes; i++) {
+            // Deletions carry no task snapshot, so the standalone setup needs no field filter to write them
+            feed.onTaskChanged(TaskChangedEvent.deleted((long) i + 1, TaskStatus.PENDING, 1L));
+        }
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return result.getResponse();
+    }
+
+    private static void awaitEvents(MockHttpServletResponse response, String... expected) {
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(events(response.getContentAsString())).containsExactly(expected));
+    }
+
+    // The id of each change event, or the name of an event without one
+    private static List<String> events(String stream) {
+        List<String> events = new ArrayList<>();
+        for (String block : stream.split("\n\n")) {
+            String id = null;
+            String name = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                }
+            }
+            if (id != null || name != null) {
+                events.add(id != null ? id : name);
+            }
+        }
+        return events;
+    }
+}
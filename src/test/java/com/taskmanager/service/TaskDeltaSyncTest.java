@@ -0,0 +1,178 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskChangesResponseDto;
+import com.taskmanager.dto.TaskRequestDto;
+import com.taskmanager.dto.TaskResponseDto;
+import com.taskmanager.dto.TaskStatusUpdateDto;
+import com.taskmanager.dto.TaskUpdateDto;
+import com.taskmanager.dto.UserRequestDto;
+import com.taskmanager.model.Role;
+import com.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delta sync end to end: writes go through TaskService and commit, so change_seq and tombstones are stamped
+ * by the real sequencer. Every test works on users of its own, so the scoped syncs only see its own tasks.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskDeltaSyncTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long alice;
+    private Long bob;
+
+    @BeforeEach
+    void createUsers() {
+        alice = createUser("Alice");
+        bob = createUser("Bob");
+    }
+
+    @Test
+    void fullSyncPagesThroughEveryTaskOnce() {
+        List<Long> created = createTasks(alice, 5);
+
+        TaskChangesResponseDto first = taskService.getTaskChanges(null, alice, 2);
+        TaskChangesResponseDto second = taskService.getTaskChanges(first.getNextToken(), alice, 2);
+        TaskChangesResponseDto third = taskService.getTaskChanges(second.getNextToken(), alice, 2);
+
+        assertThat(ids(first)).containsExactlyElementsOf(created.subList(0, 2));
+        assertThat(ids(second)).containsExactlyElementsOf(created.subList(2, 4));
+        assertThat(ids(third)).containsExactlyElementsOf(created.subList(4, 5));
+        assertThat(List.of(first.isHasMore(), second.isHasMore(), third.isHasMore())).containsExactly(true, true, false);
+        assertThat(taskService.getTaskChanges(third.getNextToken(), alice, 2).getChanged()).isEmpty();
+    }
+
+    @Test
+    void incrementalSyncReturnsChangesInCommitOrder() {
+        List<Long> tasks = createTasks(alice, 3);
+        String token = syncedToken(alice);
+
+        updateStatus(tasks.get(2), TaskStatus.IN_PROGRESS);
+        Long created = createTasks(alice, 1).get(0);
+        updateStatus(tasks.get(0), TaskStatus.COMPLETED);
+
+        TaskChangesResponseDto changes = taskService.getTaskChanges(token, alice, 10);
+        assertThat(ids(changes)).containsExactly(tasks.get(2), created, tasks.get(0));
+        assertThat(changes.getRemoved()).isEmpty();
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    @Test
+    void deletedTaskIsReportedAsRemovedOnce() {
+        List<Long> tasks = createTasks(alice, 2);
+        String token = syncedToken(alice);
+        String unscopedToken = syncedToken(null);
+
+        taskService.deleteTask(tasks.get(0), Role.ADMIN);
+
+        TaskChangesResponseDto changes = taskService.getTaskChanges(token, alice, 10);
+        assertThat(changes.getChanged()).isEmpty();
+        assertThat(changes.getRemoved()).containsExactly(tasks.get(0));
+        assertThat(taskService.getTaskChanges(changes.getNextToken(), alice, 10).getRemoved()).isEmpty();
+        // Deletions also reach unscoped syncs
+        assertThat(taskService.getTaskChanges(unscopedToken, null, 10).getRemoved()).containsExactly(tasks.get(0));
+    }
+
+    @Test
+    void reassignedTaskLeavesThePreviousAssigneesScope() {
+        Long task = createTasks(alice, 1).get(0);
+        String aliceToken = syncedToken(alice);
+        String bobToken = syncedToken(bob);
+
+        TaskUpdateDto reassign = new TaskUpdateDto();
+        reassign.setAssignedToId(bob);
+        taskService.updateTask(task, reassign, alice, Role.USER, null);
+
+        TaskChangesResponseDto aliceChanges = taskService.getTaskChanges(aliceToken, alice, 10);
+        assertThat(aliceChanges.getChanged()).isEmpty();
+        assertThat(aliceChanges.getRemoved()).containsExactly(task);
+        TaskChangesResponseDto bobChanges = taskService.getTaskChanges(bobToken, bob, 10);
+        assertThat(ids(bobChanges)).containsExactly(task);
+        assertThat(bobChanges.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void removalsComeWithTheFirstPageOnly() {
+        List<Long> tasks = createTasks(alice, 4);
+        String token = syncedToken(alice);
+
+        updateStatus(tasks.get(0), TaskStatus.IN_PROGRESS);
+        updateStatus(tasks.get(1), TaskStatus.IN_PROGRESS);
+        taskService.deleteTask(tasks.get(3), Role.ADMIN);
+        updateStatus(tasks.get(2), TaskStatus.IN_PROGRESS);
+
+        TaskChangesResponseDto first = taskService.getTaskChanges(token, alice, 2);
+        TaskChangesResponseDto second = taskService.getTaskChanges(first.getNextToken(), alice, 2);
+
+        assertThat(ids(first)).containsExactly(tasks.get(0), tasks.get(1));
+        assertThat(first.getRemoved()).containsExactly(tasks.get(3));
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(ids(second)).containsExactly(tasks.get(2));
+        assertThat(second.getRemoved()).isEmpty();
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void taskChangedAgainWhilePagingComesBackOnALaterPage() {
+        List<Long> tasks = createTasks(alice, 3);
+
+        TaskChangesResponseDto first = taskService.getTaskChanges(null, alice, 2);
+        updateStatus(tasks.get(0), TaskStatus.COMPLETED);
+        TaskChangesResponseDto second = taskService.getTaskChanges(first.getNextToken(), alice, 2);
+
+        assertThat(ids(first)).containsExactly(tasks.get(0), tasks.get(1));
+        assertThat(ids(second)).containsExactly(tasks.get(2), tasks.get(0));
+        assertThat(second.getChanged().get(1).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    private Long createUser(String name) {
+        UserRequestDto user = new UserRequestDto();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "-" + UUID.randomUUID() + "@example.com");
+        return userService.createUser(user).getId();
+    }
+
+    private List<Long> createTasks(Long assigneeId, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskRequestDto task = new TaskRequestDto();
+            task.setTitle("Task " + i);
+            task.setAssignedToId(assigneeId);
+            ids.add(taskService.createTask(task).getId());
+        }
+        return ids;
+    }
+
+    private void updateStatus(Long taskId, TaskStatus status) {
+        taskService.updateTaskStatus(taskId, new TaskStatusUpdateDto(status), null, Role.ADMIN, null);
+    }
+
+    // The token a client holds after a full sync has caught up
+    private String syncedToken(Long userId) {
+        TaskChangesResponseDto page = taskService.getTaskChanges(null, userId, 500);
+        while (page.isHasMore()) {
+            page = taskService.getTaskChanges(page.getNextToken(), userId, 500);
+        }
+        return page.getNextToken();
+    }
+
+    private static List<Long> ids(TaskChangesResponseDto changes) {
+        return changes.getChanged().stream().map(TaskResponseDto::getId).toList();
+    }
+}